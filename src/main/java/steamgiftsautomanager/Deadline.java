@@ -0,0 +1,31 @@
+package steamgiftsautomanager;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Value
+@AllArgsConstructor
+public class Deadline {
+    Instant expiresAt;
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(timeout == null ? Instant.MAX : Instant.now().plus(timeout));
+    }
+
+    public Deadline withTimeout(Duration timeout) {
+        var phaseDeadline = after(timeout);
+        return phaseDeadline.getExpiresAt().isBefore(expiresAt) ? phaseDeadline : this;
+    }
+
+    public boolean hasExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+
+    public long getRemainingMillis() {
+        if (expiresAt.equals(Instant.MAX)) return Long.MAX_VALUE;
+        return Math.max(0, Duration.between(Instant.now(), expiresAt).toMillis());
+    }
+}
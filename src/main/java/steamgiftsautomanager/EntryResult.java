@@ -0,0 +1,148 @@
+package steamgiftsautomanager;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Arrays.stream;
+
+enum EntryResult {
+    ENTERED(null, false),
+    NOT_ENOUGH_POINTS("Not Enough Points", false),
+    PREVIOUSLY_WON("Previously Won", true),
+    EXISTS_IN_ACCOUNT("Exists in Account", true),
+    MISSING_BASE_GAME("Missing Base Game", true),
+    LEVEL_LOCKED("Insufficient Level", true),
+    REGION_RESTRICTED("Region Restricted", true),
+    GROUP_ONLY("Group Only", true),
+    ENDED("Giveaway Ended", true),
+    UNKNOWN(null, false);
+
+    private static final String TYPE_KEY = "type";
+    private static final String MESSAGE_KEY = "msg";
+    private static final String SUCCESS_TYPE = "success";
+    private static final String ERROR_TYPE = "error";
+
+    private final String errorMessage;
+    private final boolean permanent;
+
+    EntryResult(String errorMessage, boolean permanent) {
+        this.errorMessage = errorMessage;
+        this.permanent = permanent;
+    }
+
+    /**
+     * Permanent failures will not succeed on retry before the giveaway ends, so they are worth remembering.
+     */
+    public boolean isPermanent() {
+        return permanent;
+    }
+
+    /**
+     * Classifies the JSON response of the entry request, anything that is not a success or an error with a known
+     * message, such as an HTML error page, is unknown and therefore never remembered as a permanent failure.
+     */
+    public static EntryResult fromResponse(String response) {
+        var fields = parseFlatJsonObject(response);
+        if (fields == null) return UNKNOWN;
+
+        var type = fields.get(TYPE_KEY);
+        if (SUCCESS_TYPE.equals(type)) return ENTERED;
+        if (!ERROR_TYPE.equals(type) || fields.get(MESSAGE_KEY) == null) return UNKNOWN;
+
+        var message = fields.get(MESSAGE_KEY).strip();
+        return stream(EntryResult.values())
+                .filter(result -> result.errorMessage != null && result.errorMessage.equalsIgnoreCase(message))
+                .findFirst().orElse(UNKNOWN);
+    }
+
+    /**
+     * Parses a JSON object without nested objects or arrays into its fields, returns null for any other input.
+     */
+    static Map<String, String> parseFlatJsonObject(String json) {
+        if (json == null) return null;
+        var reader = new JsonReader(json.strip());
+        if (!reader.consume('{')) return null;
+
+        Map<String, String> fields = new HashMap<>();
+        if (reader.consume('}')) return reader.isAtEnd() ? fields : null;
+
+        do {
+            var key = reader.readString();
+            if (key == null || !reader.consume(':')) return null;
+            var value = reader.peek() == '"' ? reader.readString() : reader.readLiteral();
+            if (value == null) return null;
+            fields.put(key, value);
+        } while (reader.consume(','));
+
+        return reader.consume('}') && reader.isAtEnd() ? fields : null;
+    }
+
+    private static final class JsonReader {
+        private final String json;
+        private int position;
+
+        private JsonReader(String json) {
+            this.json = json;
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) position++;
+        }
+
+        private char peek() {
+            skipWhitespace();
+            return position < json.length() ? json.charAt(position) : 0;
+        }
+
+        private boolean consume(char expected) {
+            if (peek() != expected) return false;
+            position++;
+            return true;
+        }
+
+        private boolean isAtEnd() {
+            skipWhitespace();
+            return position == json.length();
+        }
+
+        private String readString() {
+            if (!consume('"')) return null;
+            var value = new StringBuilder();
+            while (position < json.length()) {
+                char character = json.charAt(position++);
+                if (character == '"') return value.toString();
+                if (character != '\\') {
+                    value.append(character);
+                } else if (position < json.length()) {
+                    char escaped = json.charAt(position++);
+                    switch (escaped) {
+                        case 'b' -> value.append('\b');
+                        case 'f' -> value.append('\f');
+                        case 'n' -> value.append('\n');
+                        case 'r' -> value.append('\r');
+                        case 't' -> value.append('\t');
+                        case 'u' -> {
+                            if (position + 4 > json.length()) return null;
+                            try {
+                                value.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                            } catch (NumberFormatException e) {
+                                return null;
+                            }
+                            position += 4;
+                        }
+                        default -> value.append(escaped);
+                    }
+                }
+            }
+            return null;
+        }
+
+        private String readLiteral() {
+            skipWhitespace();
+            int start = position;
+            while (position < json.length() && ",}".indexOf(json.charAt(position)) == -1) position++;
+            var literal = json.substring(start, position).strip();
+            return literal.isEmpty() || literal.startsWith("{") || literal.startsWith("[") ? null : literal;
+        }
+    }
+}
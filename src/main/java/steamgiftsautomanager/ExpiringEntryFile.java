@@ -0,0 +1,106 @@
+package steamgiftsautomanager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Entries keyed by giveaway code persisted as tab separated lines of the code, the values and the epoch second
+ * when the entry expires, expired entries are dropped on load. A null path keeps the entries in memory only.
+ */
+class ExpiringEntryFile {
+    private static final String SEPARATOR = "\t";
+
+    private final Path path;
+    private final String fileDescription;
+    private final int valueCount;
+    private final Duration timeToLive;
+    private final Map<String, String[]> entries = new ConcurrentHashMap<>();
+    private volatile boolean modified;
+
+    ExpiringEntryFile(Path path, String fileDescription, int valueCount, Duration timeToLive) {
+        this.path = path;
+        this.fileDescription = fileDescription;
+        this.valueCount = valueCount;
+        this.timeToLive = timeToLive;
+        if (path != null && Files.exists(path)) load();
+    }
+
+    /**
+     * While HTTP exchanges are recorded or replayed no path is returned, the entries are then kept in memory so
+     * that every run sends the same requests.
+     */
+    static Path getWorkingDirectoryPath(String fileName) {
+        return Settings.isExchangeArchiveEnabled() ? null : Paths.get(fileName);
+    }
+
+    private void load() {
+        var now = Instant.now().getEpochSecond();
+        try {
+            for (String line : Files.readAllLines(path)) {
+                var elements = line.split(SEPARATOR, -1);
+                if (elements.length == valueCount + 2 && getExpiresAt(elements[valueCount + 1]) > now) {
+                    entries.put(elements[0], elements);
+                } else {
+                    modified = true;
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Error when reading " + fileDescription);
+        }
+    }
+
+    /**
+     * A malformed expiry is treated as already expired, so a corrupt line is dropped instead of failing the run.
+     */
+    private static long getExpiresAt(String expiresAt) {
+        try {
+            return Long.parseLong(expiresAt);
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    boolean contains(String giveawayCode) {
+        return entries.containsKey(giveawayCode);
+    }
+
+    String getValue(String giveawayCode, int index) {
+        var entry = entries.get(giveawayCode);
+        return entry == null ? null : entry[index + 1];
+    }
+
+    void put(String giveawayCode, String... values) {
+        if (values.length != valueCount) throw new IllegalArgumentException("Expected " + valueCount + " values");
+        var entry = new String[valueCount + 2];
+        entry[0] = giveawayCode;
+        for (int i = 0; i < valueCount; i++) {
+            entry[i + 1] = values[i].replace(SEPARATOR, " ");
+        }
+        entry[valueCount + 1] = String.valueOf(Instant.now().plus(timeToLive).getEpochSecond());
+        entries.put(giveawayCode, entry);
+        modified = true;
+    }
+
+    void save() {
+        if (!modified || path == null) return;
+        List<String> lines = new ArrayList<>();
+        entries.values().forEach(entry -> lines.add(String.join(SEPARATOR, entry)));
+
+        try {
+            Files.write(path, lines);
+            modified = false;
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.out.println("Failed to save " + fileDescription);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package steamgiftsautomanager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Persistent set of giveaway codes that failed to enter for a permanent reason, each remembered together with
+ * the reason until its time to live passes.
+ */
+public class FailedEntryCache {
+    private static final String CACHE_FILE_NAME = "failed-entries.txt";
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofDays(7);
+
+    private final ExpiringEntryFile entryFile;
+
+    public FailedEntryCache(Path path, Duration timeToLive) {
+        this.entryFile = new ExpiringEntryFile(path, "failed entries cache", 1, timeToLive);
+    }
+
+    public static FailedEntryCache open() {
+        var timeToLive = Settings.getFailedEntryTimeToLive();
+        return new FailedEntryCache(ExpiringEntryFile.getWorkingDirectoryPath(CACHE_FILE_NAME),
+                timeToLive == null ? DEFAULT_TIME_TO_LIVE : timeToLive);
+    }
+
+    public boolean contains(String giveawayCode) {
+        return entryFile.contains(giveawayCode);
+    }
+
+    public void put(String giveawayCode, EntryResult entryResult) {
+        entryFile.put(giveawayCode, entryResult.name());
+    }
+
+    public void save() {
+        entryFile.save();
+    }
+}
@@ -0,0 +1,42 @@
+package steamgiftsautomanager;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per entry counters of how many times each requested title was evaluated, how many times it matched and how much
+ * time was spent evaluating it.
+ */
+public class FilterStatistics {
+    private static final int EVALUATIONS = 0;
+    private static final int MATCHES = 1;
+    private static final int NANOS = 2;
+
+    private final Map<MatchTag, Map<String, long[]>> entries = new EnumMap<>(MatchTag.class);
+
+    public synchronized void record(MatchTag matchTag, String entry, boolean matched, long nanos) {
+        var counters = entries.computeIfAbsent(matchTag, tag -> new HashMap<>())
+                .computeIfAbsent(entry, key -> new long[3]);
+        counters[EVALUATIONS]++;
+        if (matched) counters[MATCHES]++;
+        counters[NANOS] += nanos;
+    }
+
+    public synchronized long getEvaluations(MatchTag matchTag, String entry) {
+        return getCounter(matchTag, entry, EVALUATIONS);
+    }
+
+    public synchronized long getMatches(MatchTag matchTag, String entry) {
+        return getCounter(matchTag, entry, MATCHES);
+    }
+
+    public synchronized long getNanos(MatchTag matchTag, String entry) {
+        return getCounter(matchTag, entry, NANOS);
+    }
+
+    private long getCounter(MatchTag matchTag, String entry, int counter) {
+        var counters = entries.getOrDefault(matchTag, Map.of()).get(entry);
+        return counters == null ? 0 : counters[counter];
+    }
+}
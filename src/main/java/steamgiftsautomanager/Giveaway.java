@@ -1,14 +1,28 @@
 package steamgiftsautomanager;
 
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
+import lombok.With;
 
 @Value
 @AllArgsConstructor
 public class Giveaway {
-    String title;
+    @With String title;
     String relativeUrl;
     int pointCost;
+    int copies;
+    boolean regionRestricted;
+    @Getter(lazy = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    String titleKey = TitleKey.normalize(title);
+
+    public Giveaway(String title, String relativeUrl, int pointCost) {
+        this(title, relativeUrl, pointCost, 1, false);
+    }
 
     public String getGiveawayCode() {
         return this.getRelativeUrl().split("/")[2];
@@ -0,0 +1,88 @@
+package steamgiftsautomanager;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Constraints listed under the {@code [constraints]} tag, they are sent to steamgifts as search parameters to
+ * shrink the listing and checked again for every scraped giveaway.
+ */
+@Value
+@AllArgsConstructor
+public class GiveawayConstraints {
+    public static final GiveawayConstraints NONE = new GiveawayConstraints(null, null, null, false, false);
+
+    private static final String MIN_POINTS = "min_points";
+    private static final String MAX_POINTS = "max_points";
+    private static final String MIN_COPIES = "min_copies";
+    private static final String EXCLUDE_DLC = "exclude_dlc";
+    private static final String REGION_RESTRICTED_ONLY = "region_restricted_only";
+
+    Integer minPointCost;
+    Integer maxPointCost;
+    Integer minCopies;
+    boolean excludeDlc;
+    boolean regionRestrictedOnly;
+
+    public static GiveawayConstraints fromLines(String[] lines) {
+        Integer minPointCost = null;
+        Integer maxPointCost = null;
+        Integer minCopies = null;
+        boolean excludeDlc = false;
+        boolean regionRestrictedOnly = false;
+
+        for (String line : lines) {
+            var elements = line.split("=");
+            if (elements.length != 2) throw new RuntimeException("Invalid constraint: " + line);
+            var value = elements[1].strip();
+
+            try {
+                switch (elements[0].strip()) {
+                    case MIN_POINTS -> minPointCost = Integer.parseInt(value);
+                    case MAX_POINTS -> maxPointCost = Integer.parseInt(value);
+                    case MIN_COPIES -> minCopies = Integer.parseInt(value);
+                    case EXCLUDE_DLC -> excludeDlc = Boolean.parseBoolean(value);
+                    case REGION_RESTRICTED_ONLY -> regionRestrictedOnly = Boolean.parseBoolean(value);
+                    default -> throw new RuntimeException("Invalid constraint: " + line);
+                }
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid constraint: " + line);
+            }
+        }
+
+        return new GiveawayConstraints(minPointCost, maxPointCost, minCopies, excludeDlc, regionRestrictedOnly);
+    }
+
+    public String[] toLines() {
+        List<String> lines = new ArrayList<>();
+        if (minPointCost != null) lines.add(MIN_POINTS + "=" + minPointCost);
+        if (maxPointCost != null) lines.add(MAX_POINTS + "=" + maxPointCost);
+        if (minCopies != null) lines.add(MIN_COPIES + "=" + minCopies);
+        if (excludeDlc) lines.add(EXCLUDE_DLC + "=true");
+        if (regionRestrictedOnly) lines.add(REGION_RESTRICTED_ONLY + "=true");
+        return lines.toArray(String[]::new);
+    }
+
+    public String toSearchQuery() {
+        var query = new StringBuilder();
+        if (minPointCost != null) query.append("&point_min=").append(minPointCost);
+        if (maxPointCost != null) query.append("&point_max=").append(maxPointCost);
+        if (minCopies != null) query.append("&copy_min=").append(minCopies);
+        if (excludeDlc) query.append("&dlc=false");
+        if (regionRestrictedOnly) query.append("&region_restricted=true");
+        return query.toString();
+    }
+
+    /**
+     * DLC status is not shown on the listing, so DLC exclusion is only applied by the search query.
+     */
+    public boolean matches(Giveaway giveaway) {
+        if (minPointCost != null && giveaway.getPointCost() < minPointCost) return false;
+        if (maxPointCost != null && giveaway.getPointCost() > maxPointCost) return false;
+        if (minCopies != null && giveaway.getCopies() < minCopies) return false;
+        return !regionRestrictedOnly || giveaway.isRegionRestricted();
+    }
+}
@@ -0,0 +1,63 @@
+package steamgiftsautomanager;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static java.util.Arrays.stream;
+
+/**
+ * Listing feeds of steamgifts, declared in the order of their priority.
+ */
+enum GiveawayFeed {
+    WISHLIST("wishlist", "&type=wishlist"),
+    GROUP("group", "&type=group"),
+    DLC("dlc", "&dlc=true"),
+    ALL("all", "");
+
+    private final String feedName;
+    private final String searchQuery;
+
+    GiveawayFeed(String feedName, String searchQuery) {
+        this.feedName = feedName;
+        this.searchQuery = searchQuery;
+    }
+
+    @Override
+    public String toString() {
+        return feedName;
+    }
+
+    public String getSearchQuery() {
+        return searchQuery;
+    }
+
+    /**
+     * Parses comma separated feed names each optionally followed by a colon and a page limit, feeds without
+     * a positive limit are crawled until their last page, by default only the feed of all giveaways is crawled.
+     */
+    public static Map<GiveawayFeed, Integer> parsePageLimits(String feeds) {
+        Map<GiveawayFeed, Integer> pageLimits = new EnumMap<>(GiveawayFeed.class);
+
+        if (feeds == null || feeds.isBlank()) {
+            pageLimits.put(ALL, Integer.MAX_VALUE);
+            return pageLimits;
+        }
+
+        for (String feed : feeds.split(",")) {
+            var elements = feed.strip().split(":");
+            var giveawayFeed = stream(GiveawayFeed.values()).filter(value -> value.feedName.equals(elements[0]))
+                    .findFirst().orElseThrow(() -> new RuntimeException("Invalid feed: " + feed));
+
+            int pageLimit;
+            try {
+                pageLimit = elements.length > 1 ? Integer.parseInt(elements[1]) : 0;
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid feed: " + feed);
+            }
+
+            pageLimits.put(giveawayFeed, pageLimit > 0 ? pageLimit : Integer.MAX_VALUE);
+        }
+
+        return pageLimits;
+    }
+}
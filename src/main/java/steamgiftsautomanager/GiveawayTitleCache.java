@@ -0,0 +1,47 @@
+package steamgiftsautomanager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Persistent mapping of giveaway codes to full titles and Steam app ids resolved from giveaway pages, so that
+ * truncated titles are never resolved twice while the giveaway can still be listed.
+ */
+public class GiveawayTitleCache {
+    private static final String CACHE_FILE_NAME = "giveaway-titles.txt";
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofDays(30);
+    private static final int APP_ID_INDEX = 0;
+    private static final int TITLE_INDEX = 1;
+
+    private final ExpiringEntryFile entryFile;
+
+    public GiveawayTitleCache(Path path, Duration timeToLive) {
+        this.entryFile = new ExpiringEntryFile(path, "giveaway titles cache", 2, timeToLive);
+    }
+
+    public static GiveawayTitleCache open() {
+        var timeToLive = Settings.getTitleCacheTimeToLive();
+        return new GiveawayTitleCache(ExpiringEntryFile.getWorkingDirectoryPath(CACHE_FILE_NAME),
+                timeToLive == null ? DEFAULT_TIME_TO_LIVE : timeToLive);
+    }
+
+    public boolean contains(String giveawayCode) {
+        return entryFile.contains(giveawayCode);
+    }
+
+    public String getTitle(String giveawayCode) {
+        return entryFile.getValue(giveawayCode, TITLE_INDEX);
+    }
+
+    public String getAppId(String giveawayCode) {
+        return entryFile.getValue(giveawayCode, APP_ID_INDEX);
+    }
+
+    public void put(String giveawayCode, String appId, String title) {
+        entryFile.put(giveawayCode, appId == null ? "" : appId, title);
+    }
+
+    public void save() {
+        entryFile.save();
+    }
+}
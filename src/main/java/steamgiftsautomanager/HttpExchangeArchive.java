@@ -0,0 +1,118 @@
+package steamgiftsautomanager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Zip archive of HTTP exchanges, every response is stored under the hash of its method, url and request body
+ * together with the latency observed when it was recorded.
+ */
+public class HttpExchangeArchive implements AutoCloseable {
+    private final ZipOutputStream recordingStream;
+    private final ZipFile replayFile;
+    private final boolean reproduceLatency;
+    private final Map<String, AtomicInteger> occurrences = new ConcurrentHashMap<>();
+
+    private HttpExchangeArchive(ZipOutputStream recordingStream, ZipFile replayFile, boolean reproduceLatency) {
+        this.recordingStream = recordingStream;
+        this.replayFile = replayFile;
+        this.reproduceLatency = reproduceLatency;
+    }
+
+    public static HttpExchangeArchive forRecording(Path path) throws IOException {
+        return new HttpExchangeArchive(new ZipOutputStream(Files.newOutputStream(path)), null, false);
+    }
+
+    public static HttpExchangeArchive forReplay(Path path, boolean reproduceLatency) throws IOException {
+        return new HttpExchangeArchive(null, new ZipFile(path.toFile()), reproduceLatency);
+    }
+
+    public static HttpExchangeArchive open() {
+        try {
+            if (Settings.getReplayArchivePath() != null) {
+                return forReplay(Paths.get(Settings.getReplayArchivePath()), Settings.isReplayLatencyReproduced());
+            }
+            if (Settings.getRecordArchivePath() != null) {
+                return forRecording(Paths.get(Settings.getRecordArchivePath()));
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Error when opening exchange archive");
+        }
+        return null;
+    }
+
+    public boolean isReplaying() {
+        return replayFile != null;
+    }
+
+    public synchronized void record(String method, String url, String requestBody, String responseBody,
+                                    long latencyMillis) throws IOException {
+        var entry = new ZipEntry(getEntryName(method, url, requestBody));
+        entry.setComment(latencyMillis + " " + method + " " + url);
+        recordingStream.putNextEntry(entry);
+        recordingStream.write(responseBody.getBytes(StandardCharsets.UTF_8));
+        recordingStream.closeEntry();
+    }
+
+    public String replay(String method, String url, String requestBody) throws IOException {
+        var entry = replayFile.getEntry(getEntryName(method, url, requestBody));
+        if (entry == null) entry = replayFile.getEntry(getExchangeKey(method, url, requestBody) + "/0");
+        if (entry == null) throw new IOException("No recorded exchange for " + method + " " + url);
+
+        if (reproduceLatency && entry.getComment() != null) {
+            try {
+                Thread.sleep(Long.parseLong(entry.getComment().split(" ")[0]));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while replaying " + method + " " + url);
+            }
+        }
+
+        try (var inputStream = replayFile.getInputStream(entry)) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private String getEntryName(String method, String url, String requestBody) {
+        var key = getExchangeKey(method, url, requestBody);
+        return key + "/" + occurrences.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+    }
+
+    static String getExchangeKey(String method, String url, String requestBody) {
+        var bodyHash = requestBody == null ? "" : sha256(requestBody);
+        return sha256(method + " " + url + " " + bodyHash);
+    }
+
+    private static String sha256(String value) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (recordingStream != null) recordingStream.close();
+            if (replayFile != null) replayFile.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Error when closing exchange archive");
+        }
+    }
+}
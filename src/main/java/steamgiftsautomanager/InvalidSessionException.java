@@ -0,0 +1,7 @@
+package steamgiftsautomanager;
+
+public class InvalidSessionException extends RuntimeException {
+    public InvalidSessionException() {
+        super("No session associated with the provided cookie found");
+    }
+}
@@ -5,7 +5,8 @@ import static java.util.Arrays.stream;
 enum MatchTag {
     EXACT_MATCH("[exact_match]"),
     ANY_MATCH("[any_match]"),
-    NO_MATCH("[no_match]");
+    NO_MATCH("[no_match]"),
+    CONSTRAINTS("[constraints]");
 
     private final String tagString;
 
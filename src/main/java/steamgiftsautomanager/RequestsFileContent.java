@@ -13,4 +13,10 @@ public class RequestsFileContent {
     @With String[] exactMatches;
     String[] anyMatches;
     String[] noMatches;
+    GiveawayConstraints constraints;
+
+    public RequestsFileContent(String cookieName, String cookieValue, String xsrfToken, String[] exactMatches,
+                               String[] anyMatches, String[] noMatches) {
+        this(cookieName, cookieValue, xsrfToken, exactMatches, anyMatches, noMatches, GiveawayConstraints.NONE);
+    }
 }
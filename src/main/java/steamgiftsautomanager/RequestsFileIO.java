@@ -1,6 +1,10 @@
 package steamgiftsautomanager;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.Duration;
@@ -12,14 +16,17 @@ public class RequestsFileIO {
     private static final int VALID_XSRF_TOKEN_LENGTH = 32;
 
     private static final String REQUESTS_FILE_NAME = "requests.txt";
+    private static final int READ_BUFFER_SIZE = 1 << 16;
 
     private RequestsFileIO() {
     }
 
-    private static String[] readRequestsFile() {
+    private static RequestsFileContent readRequestsFile() {
         if (Files.exists(Paths.get(REQUESTS_FILE_NAME))) {
-            try {
-                return Files.readAllLines(Paths.get(REQUESTS_FILE_NAME)).toArray(String[]::new);
+            try (var channel = FileChannel.open(Paths.get(REQUESTS_FILE_NAME));
+                 var reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8),
+                         READ_BUFFER_SIZE)) {
+                return parseRequestsFile(reader);
             } catch (IOException e) {
                 e.printStackTrace();
                 throw new RuntimeException("Error when reading requests file");
@@ -29,6 +36,32 @@ public class RequestsFileIO {
         }
     }
 
+    /**
+     * Reads the requests file in a single pass, every line is routed to the tag of its section so repeated
+     * sections are merged and each tag is deduplicated and sorted as it is read.
+     */
+    private static RequestsFileContent parseRequestsFile(BufferedReader reader) throws IOException {
+        var cookie = reader.readLine();
+        if (cookie == null || !isValidCookie(cookie)) throw new RuntimeException("Invalid cookie format at line 1");
+
+        var xsrfToken = reader.readLine();
+        if (xsrfToken == null || !isValidXsrfToken(xsrfToken)) {
+            throw new RuntimeException("Invalid token format at line 2");
+        }
+
+        var router = new TaggedLineRouter();
+        int lineNumber = 2;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            router.route(line, ++lineNumber);
+        }
+
+        var cookieElements = cookie.split("=");
+        return new RequestsFileContent(cookieElements[0], cookieElements[1], xsrfToken,
+                router.getLines(MatchTag.EXACT_MATCH), router.getLines(MatchTag.ANY_MATCH),
+                router.getLines(MatchTag.NO_MATCH), GiveawayConstraints.fromLines(router.getLines(MatchTag.CONSTRAINTS)));
+    }
+
      private static void writeRequestsFileContent(RequestsFileContent requestsFileContent) {
         var newLine = System.lineSeparator();
         var content = requestsFileContent.getCookieName() + "=" + requestsFileContent.getCookieValue() + newLine +
@@ -38,7 +71,8 @@ public class RequestsFileIO {
                         MatchTag.ANY_MATCH + newLine +
                         String.join(newLine, requestsFileContent.getAnyMatches()) + newLine +
                         MatchTag.NO_MATCH + newLine +
-                        String.join(newLine, requestsFileContent.getNoMatches()) + newLine).toLowerCase();
+                        String.join(newLine, requestsFileContent.getNoMatches()) + newLine +
+                        getConstraintsSection(requestsFileContent.getConstraints()));
 
         if (Files.exists(Paths.get(REQUESTS_FILE_NAME))) {
             try {
@@ -50,6 +84,13 @@ public class RequestsFileIO {
         }
     }
 
+    private static String getConstraintsSection(GiveawayConstraints constraints) {
+        var constraintLines = constraints.toLines();
+        if (constraintLines.length == 0) return "";
+        var newLine = System.lineSeparator();
+        return MatchTag.CONSTRAINTS + newLine + String.join(newLine, constraintLines) + newLine;
+    }
+
     private static boolean isValidCookie(String cookie) {
         if (!cookie.contains("=")) return false;
         var elements = cookie.split("=");
@@ -60,43 +101,14 @@ public class RequestsFileIO {
         return token.length() == VALID_XSRF_TOKEN_LENGTH;
     }
 
-    private static String[] getSortedAndUniqueTitlesByTag(MatchTag matchTag, List<String> lines) {
-        final Set<String> tagMatches = new HashSet<>();
-        int tagMatchIndex = lines.indexOf(matchTag.toString());
-
-        if (tagMatchIndex == -1) return new String[0];
-
-        for (int i = tagMatchIndex + 1; i < lines.size(); i++) {
-            var line = lines.get(i);
-            if (!MatchTag.contains(line) && !line.isEmpty()) {
-                tagMatches.add(line);
-            } else {
-                break;
-            }
-        }
-
-        var result = tagMatches.toArray(String[]::new);
-        Arrays.sort(result);
-        return result;
-    }
-
     private static RequestsFileContent getRequestsFileContent() {
-        var lines = Arrays.asList(readRequestsFile());
-
-        if (!isValidCookie(lines.get(0))) throw new RuntimeException("Invalid cookie format");
-        if (!isValidXsrfToken(lines.get(1))) throw new RuntimeException("Invalid token format");
-
-        var cookieElements = lines.get(0).split("=");
+        var requestsFileContent = readRequestsFile();
 
-        var exactMatch = getSortedAndUniqueTitlesByTag(MatchTag.EXACT_MATCH, lines);
-        var anyMatch = getSortedAndUniqueTitlesByTag(MatchTag.ANY_MATCH, lines);
-        var noMatch = getSortedAndUniqueTitlesByTag(MatchTag.NO_MATCH, lines);
+        Utils.printFoundRequestedTitles(requestsFileContent.getExactMatches().length, MatchTag.EXACT_MATCH.toString());
+        Utils.printFoundRequestedTitles(requestsFileContent.getAnyMatches().length, MatchTag.ANY_MATCH.toString());
+        Utils.printFoundRequestedTitles(requestsFileContent.getNoMatches().length, MatchTag.NO_MATCH.toString());
 
-        Utils.printFoundRequestedTitles(exactMatch.length, MatchTag.EXACT_MATCH.toString());
-        Utils.printFoundRequestedTitles(anyMatch.length, MatchTag.ANY_MATCH.toString());
-        Utils.printFoundRequestedTitles(noMatch.length, MatchTag.NO_MATCH.toString());
-
-        return new RequestsFileContent(cookieElements[0], cookieElements[1], lines.get(1), exactMatch, anyMatch, noMatch);
+        return requestsFileContent;
     }
 
     public static RequestsFileContent readRequestsFileContent() {
@@ -114,8 +126,68 @@ public class RequestsFileIO {
     }
 
     private static RequestsFileContent updateRequestsFile(final RequestsFileContent requestsFileContent, final String[] newTitles) {
-        var uniqueTitles = new HashSet<>(Arrays.asList(requestsFileContent.getExactMatches()));
-        uniqueTitles.addAll(Set.of(newTitles));
-        return requestsFileContent.withExactMatches(uniqueTitles.toArray(String[]::new));
+        List<String> titles = new ArrayList<>(Arrays.asList(requestsFileContent.getExactMatches()));
+        Set<String> titleKeys = new HashSet<>();
+        for (String title : titles) {
+            titleKeys.add(TitleKey.normalize(title));
+        }
+
+        for (String newTitle : newTitles) {
+            if (titleKeys.add(TitleKey.normalize(newTitle))) titles.add(newTitle);
+        }
+
+        return requestsFileContent.withExactMatches(titles.toArray(String[]::new));
+    }
+
+    /**
+     * Collects the titles of every tag into a sorted set and the constraints in file order, blank lines are skipped
+     * and a tag may appear more than once.
+     */
+    private static final class TaggedLineRouter {
+        private final Map<MatchTag, Collection<String>> linesByTag = new EnumMap<>(MatchTag.class);
+        private final Set<String> constraintKeys = new HashSet<>();
+        private MatchTag currentTag;
+
+        private void route(String line, int lineNumber) {
+            if (line.isBlank()) return;
+
+            var matchTag = getMatchTag(line);
+            if (matchTag != null) {
+                currentTag = matchTag;
+                linesByTag.computeIfAbsent(matchTag, tag -> tag == MatchTag.CONSTRAINTS ? new ArrayList<>() : new TreeSet<>());
+                return;
+            }
+
+            if (currentTag == null) throw new RuntimeException("Line outside of any tag at line " + lineNumber);
+            if (currentTag == MatchTag.CONSTRAINTS) validateConstraint(line, lineNumber);
+
+            linesByTag.get(currentTag).add(line);
+        }
+
+        private void validateConstraint(String line, int lineNumber) {
+            try {
+                GiveawayConstraints.fromLines(new String[]{line});
+            } catch (RuntimeException e) {
+                throw new RuntimeException(e.getMessage() + " at line " + lineNumber);
+            }
+
+            var key = line.split("=")[0].strip();
+            if (!constraintKeys.add(key)) {
+                throw new RuntimeException("Duplicate constraint: " + key + " at line " + lineNumber);
+            }
+        }
+
+        private static MatchTag getMatchTag(String line) {
+            if (!line.startsWith("[")) return null;
+            for (MatchTag matchTag : MatchTag.values()) {
+                if (matchTag.toString().equals(line)) return matchTag;
+            }
+            return null;
+        }
+
+        private String[] getLines(MatchTag matchTag) {
+            var lines = linesByTag.get(matchTag);
+            return lines == null ? new String[0] : lines.toArray(String[]::new);
+        }
     }
 }
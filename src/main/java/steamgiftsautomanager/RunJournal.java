@@ -0,0 +1,174 @@
+package steamgiftsautomanager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Append only JSON Lines journal with one record per run and per entry attempt, records are written by a dedicated
+ * thread from a bounded queue and dropped rather than blocking the caller when the queue is full.
+ */
+public class RunJournal implements AutoCloseable {
+    private static final String JOURNAL_FILE_NAME = "run-journal.jsonl";
+    private static final long DEFAULT_MAX_FILE_SIZE = 10 * 1024 * 1024;
+    private static final int ROTATED_FILE_COUNT = 5;
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+    private static final String END_OF_JOURNAL = new String();
+
+    private final Path path;
+    private final long maxFileSize;
+    private final BlockingQueue<String> records = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicInteger droppedRecords = new AtomicInteger();
+    private final Thread writerThread;
+
+    public RunJournal(Path path, long maxFileSize) {
+        this.path = path;
+        this.maxFileSize = maxFileSize;
+        this.writerThread = Thread.ofPlatform().name("run-journal").daemon().start(this::writeRecords);
+    }
+
+    public static RunJournal open() {
+        var path = Settings.getJournalPath();
+        var maxFileSize = Settings.getJournalMaxFileSize();
+        return new RunJournal(Paths.get(path == null ? JOURNAL_FILE_NAME : path),
+                maxFileSize == null ? DEFAULT_MAX_FILE_SIZE : maxFileSize);
+    }
+
+    public void recordEntryAttempt(Giveaway giveaway, EntryResult entryResult, long latencyMillis) {
+        append("{\"type\":\"entry\",\"time\":" + quote(Instant.now().toString()) +
+                ",\"code\":" + quote(giveaway.getGiveawayCode()) +
+                ",\"title\":" + quote(giveaway.getTitle()) +
+                ",\"pointCost\":" + giveaway.getPointCost() +
+                ",\"result\":" + quote(entryResult.name()) +
+                ",\"latencyMillis\":" + latencyMillis + "}");
+    }
+
+    public void recordRun(String mode, RunMetrics runMetrics, long durationMillis) {
+        var phases = new StringBuilder();
+        runMetrics.getPhaseDurations().forEach((phase, duration) ->
+                phases.append(phases.isEmpty() ? "" : ",").append(quote(phase)).append(":").append(duration));
+
+        append("{\"type\":\"run\",\"time\":" + quote(Instant.now().toString()) +
+                ",\"mode\":" + quote(mode) +
+                ",\"durationMillis\":" + durationMillis +
+                ",\"phaseMillis\":{" + phases + "}" +
+                ",\"pages\":" + runMetrics.getScrapedPages() +
+                ",\"candidates\":" + runMetrics.getCandidates() +
+                ",\"entered\":" + runMetrics.getEnteredGiveaways() +
+                ",\"failedEntries\":" + runMetrics.getFailedEntries() +
+                ",\"pointsSpent\":" + runMetrics.getPointsSpent() +
+                ",\"remainingPoints\":" + runMetrics.getRemainingPoints() +
+                ",\"fetchErrors\":" + runMetrics.getFetchErrors() +
+                ",\"droppedRecords\":" + droppedRecords.get() + "}");
+    }
+
+    private void append(String record) {
+        if (!records.offer(record)) droppedRecords.getAndIncrement();
+    }
+
+    /**
+     * Writes records until the end of the journal, a record that cannot be written is dropped and the writer
+     * keeps draining the queue so that neither the callers nor {@link #close()} are ever blocked by it.
+     */
+    private void writeRecords() {
+        BufferedWriter writer = null;
+        boolean hasFailed = false;
+        try {
+            String record;
+            while ((record = records.take()) != END_OF_JOURNAL) {
+                try {
+                    if (writer == null) {
+                        rotateIfNeeded();
+                        writer = Files.newBufferedWriter(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    }
+                    writer.write(record);
+                    writer.newLine();
+                    if (records.isEmpty()) {
+                        writer.close();
+                        writer = null;
+                    }
+                } catch (IOException e) {
+                    droppedRecords.getAndIncrement();
+                    writer = closeQuietly(writer);
+                    if (!hasFailed) {
+                        e.printStackTrace();
+                        System.out.println("Failed to write run journal");
+                        hasFailed = true;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeQuietly(writer);
+        }
+    }
+
+    private static BufferedWriter closeQuietly(BufferedWriter writer) {
+        try {
+            if (writer != null) writer.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    private void rotateIfNeeded() throws IOException {
+        if (!Files.exists(path) || Files.size(path) < maxFileSize) return;
+
+        for (int i = ROTATED_FILE_COUNT - 1; i >= 1; i--) {
+            var rotatedPath = getRotatedPath(i);
+            if (Files.exists(rotatedPath)) {
+                Files.move(rotatedPath, getRotatedPath(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(path, getRotatedPath(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path getRotatedPath(int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+
+    static String quote(String value) {
+        var quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            switch (character) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (character < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        quoted.append(character);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (writerThread.isAlive() && records.offer(END_OF_JOURNAL, CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                writerThread.join(CLOSE_TIMEOUT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package steamgiftsautomanager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RunMetrics {
+    private final Map<String, Long> phaseDurations = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final AtomicInteger scrapedPages = new AtomicInteger();
+    private final AtomicInteger candidates = new AtomicInteger();
+    private final AtomicInteger enteredGiveaways = new AtomicInteger();
+    private final AtomicInteger failedEntries = new AtomicInteger();
+    private final AtomicInteger pointsSpent = new AtomicInteger();
+    private final AtomicInteger remainingPoints = new AtomicInteger(-1);
+    private final AtomicInteger fetchErrors = new AtomicInteger();
+
+    public void recordPhase(String phase, long durationMillis) {
+        phaseDurations.merge(phase, durationMillis, Long::sum);
+    }
+
+    public void addScrapedPages(int pageCount) {
+        scrapedPages.addAndGet(pageCount);
+    }
+
+    public void setCandidates(int candidateCount) {
+        candidates.set(candidateCount);
+    }
+
+    public void recordEntry(EntryResult entryResult, int pointCost) {
+        if (entryResult == EntryResult.ENTERED) {
+            enteredGiveaways.getAndIncrement();
+            pointsSpent.addAndGet(pointCost);
+        } else {
+            failedEntries.getAndIncrement();
+        }
+    }
+
+    public void setRemainingPoints(int points) {
+        remainingPoints.set(points);
+    }
+
+    public void incrementFetchErrors() {
+        fetchErrors.getAndIncrement();
+    }
+
+    public Map<String, Long> getPhaseDurations() {
+        synchronized (phaseDurations) {
+            return new LinkedHashMap<>(phaseDurations);
+        }
+    }
+
+    public int getScrapedPages() {
+        return scrapedPages.get();
+    }
+
+    public int getCandidates() {
+        return candidates.get();
+    }
+
+    public int getEnteredGiveaways() {
+        return enteredGiveaways.get();
+    }
+
+    public int getFailedEntries() {
+        return failedEntries.get();
+    }
+
+    public int getPointsSpent() {
+        return pointsSpent.get();
+    }
+
+    public int getRemainingPoints() {
+        return remainingPoints.get();
+    }
+
+    public int getFetchErrors() {
+        return fetchErrors.get();
+    }
+}
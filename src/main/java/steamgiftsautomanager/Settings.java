@@ -0,0 +1,68 @@
+package steamgiftsautomanager;
+
+import java.time.Duration;
+
+public class Settings {
+    private static final String RECORD_ARCHIVE_PROPERTY = "steamgifts.record";
+    private static final String REPLAY_ARCHIVE_PROPERTY = "steamgifts.replay";
+    private static final String REPLAY_LATENCY_PROPERTY = "steamgifts.replay.latency";
+    private static final String RUN_TIMEOUT_PROPERTY = "steamgifts.timeout.run";
+    private static final String PHASE_TIMEOUT_PROPERTY = "steamgifts.timeout.phase";
+    private static final String FAILED_ENTRY_TTL_PROPERTY = "steamgifts.failed-entry.ttl";
+    private static final String TITLE_CACHE_TTL_PROPERTY = "steamgifts.title-cache.ttl";
+    private static final String FEEDS_PROPERTY = "steamgifts.feeds";
+    private static final String JOURNAL_PROPERTY = "steamgifts.journal";
+    private static final String JOURNAL_MAX_SIZE_PROPERTY = "steamgifts.journal.max-size";
+
+    private Settings() {
+    }
+
+    public static String getRecordArchivePath() {
+        return System.getProperty(RECORD_ARCHIVE_PROPERTY);
+    }
+
+    public static String getReplayArchivePath() {
+        return System.getProperty(REPLAY_ARCHIVE_PROPERTY);
+    }
+
+    public static boolean isExchangeArchiveEnabled() {
+        return getRecordArchivePath() != null || getReplayArchivePath() != null;
+    }
+
+    public static boolean isReplayLatencyReproduced() {
+        return Boolean.parseBoolean(System.getProperty(REPLAY_LATENCY_PROPERTY, "true"));
+    }
+
+    public static Duration getRunTimeout() {
+        return getTimeout(RUN_TIMEOUT_PROPERTY);
+    }
+
+    public static Duration getPhaseTimeout() {
+        return getTimeout(PHASE_TIMEOUT_PROPERTY);
+    }
+
+    public static Duration getFailedEntryTimeToLive() {
+        return getTimeout(FAILED_ENTRY_TTL_PROPERTY);
+    }
+
+    public static Duration getTitleCacheTimeToLive() {
+        return getTimeout(TITLE_CACHE_TTL_PROPERTY);
+    }
+
+    public static String getFeeds() {
+        return System.getProperty(FEEDS_PROPERTY);
+    }
+
+    public static String getJournalPath() {
+        return System.getProperty(JOURNAL_PROPERTY);
+    }
+
+    public static Long getJournalMaxFileSize() {
+        return Long.getLong(JOURNAL_MAX_SIZE_PROPERTY);
+    }
+
+    private static Duration getTimeout(String property) {
+        Long seconds = Long.getLong(property);
+        return seconds == null ? null : Duration.ofSeconds(seconds);
+    }
+}
@@ -6,28 +6,66 @@ import java.time.Instant;
 public class SteamgiftsAutoManager {
 
     public static void main(String[] args) {
+        try (var exchangeArchive = HttpExchangeArchive.open(); var runJournal = RunJournal.open()) {
+            run(args, exchangeArchive, runJournal);
+        }
+    }
+
+    private static void run(String[] args, HttpExchangeArchive exchangeArchive, RunJournal runJournal) {
         if (args.length == 0) {
             var startTime = Instant.now();
 
             var requestsFileContent = RequestsFileIO.readRequestsFileContent();
-            var steamgiftsHttpClient = new SteamgiftsHttpClient(requestsFileContent);
-            var giveaways = steamgiftsHttpClient.scrapeAvailableGiveaways();
-            var filteredGiveaways = Utils.filterGiveaways(giveaways, requestsFileContent);
+            var steamgiftsHttpClient = new SteamgiftsHttpClient(requestsFileContent, exchangeArchive,
+                    Deadline.after(Settings.getRunTimeout()), runJournal);
+            var filteredGiveaways = getFilteredGiveaways(steamgiftsHttpClient, requestsFileContent, null);
+
+            steamgiftsHttpClient.enterGiveaways(filteredGiveaways, FailedEntryCache.open());
+
+            var duration = Duration.between(startTime, Instant.now()).toMillis();
+            runJournal.recordRun("enter", steamgiftsHttpClient.getRunMetrics(), duration);
+            Utils.printTotalParsingTime(duration);
+        }
+
+        if (args.length == 1 && args[0].strip().equals("plan")) {
+            var startTime = Instant.now();
+
+            var requestsFileContent = RequestsFileIO.readRequestsFileContent();
+            var steamgiftsHttpClient = new SteamgiftsHttpClient(requestsFileContent, exchangeArchive,
+                    Deadline.after(Settings.getRunTimeout()), runJournal);
+            var filterStatistics = new FilterStatistics();
+            var filteredGiveaways = getFilteredGiveaways(steamgiftsHttpClient, requestsFileContent, filterStatistics);
 
-            steamgiftsHttpClient.enterGiveaways(filteredGiveaways);
+            Utils.printPlannedEntries(steamgiftsHttpClient.getEntryCandidates(filteredGiveaways, FailedEntryCache.open()));
+            Utils.printFilterStatistics(requestsFileContent, filterStatistics);
 
-            Utils.printTotalParsingTime(Duration.between(startTime, Instant.now()).toMillis());
+            var duration = Duration.between(startTime, Instant.now()).toMillis();
+            runJournal.recordRun("plan", steamgiftsHttpClient.getRunMetrics(), duration);
+            Utils.printTotalParsingTime(duration);
         }
 
         if (args.length == 1 && args[0].strip().equals("update-titles")) {
             var startTime = Instant.now();
 
             var requestsFileContent = RequestsFileIO.readRequestsFileContent();
-            var steamgiftsHttpClient = new SteamgiftsHttpClient(requestsFileContent);
+            var steamgiftsHttpClient = new SteamgiftsHttpClient(requestsFileContent, exchangeArchive,
+                    Deadline.after(Settings.getRunTimeout()), runJournal);
             var allEnteredGiveaways = steamgiftsHttpClient.scrapeTitlesOfAllEnteredGiveaways();
             RequestsFileIO.updateRequestsFileContent(requestsFileContent, allEnteredGiveaways);
 
-            Utils.printTotalParsingTime(Duration.between(startTime, Instant.now()).toMillis());
+            var duration = Duration.between(startTime, Instant.now()).toMillis();
+            runJournal.recordRun("update-titles", steamgiftsHttpClient.getRunMetrics(), duration);
+            Utils.printTotalParsingTime(duration);
         }
     }
+
+    private static Giveaway[] getFilteredGiveaways(SteamgiftsHttpClient steamgiftsHttpClient,
+                                                   RequestsFileContent requestsFileContent,
+                                                   FilterStatistics filterStatistics) {
+        var titleIndex = new TitleIndex(requestsFileContent);
+        var giveaways = steamgiftsHttpClient.resolveTruncatedTitles(
+                steamgiftsHttpClient.scrapeAvailableGiveaways(GiveawayFeed.parsePageLimits(Settings.getFeeds())),
+                GiveawayTitleCache.open(), titleIndex);
+        return Utils.filterGiveaways(giveaways, requestsFileContent, titleIndex, filterStatistics);
+    }
 }
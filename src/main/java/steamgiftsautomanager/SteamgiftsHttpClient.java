@@ -1,5 +1,6 @@
 package steamgiftsautomanager;
 
+import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -13,7 +14,6 @@ import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 public class SteamgiftsHttpClient {
     private static final String BASE_URL = "https://www.steamgifts.com";
@@ -26,75 +26,270 @@ public class SteamgiftsHttpClient {
     private static final String GIVEAWAY_THUMBNAIL_CLASS = ".giveaway_image_thumbnail";
     private static final String GIVEAWAY_THUMBNAIL_MISSING_CLASS = ".giveaway_image_thumbnail_missing";
     private static final String GIVEAWAY_MISC_CLASS = ".giveaway__heading__thin";
+    private static final String GIVEAWAY_REGION_RESTRICTED_CLASS = ".giveaway__column--region-restricted";
+    private static final String FEATURED_HEADING_CLASS = ".featured__heading__medium";
+    private static final String STEAM_STORE_LINK_SELECTOR = "a[href*=store.steampowered.com/app/]";
     private static final String NAV_POINTS_CLASS = ".nav__points";
     private static final String TABLE_ROW_INNER_WRAP_CLASS = ".table__row-inner-wrap";
     private static final String TABLE_COLUMN_SECONDARY_LINK_CLASS = ".table__column__secondary-link";
     private static final String TABLE_COLUMN_HEADING_CLASS = ".table__column__heading";
     private static final String NOT_NUMBER_REGEX = "[^0-9]";
-    private static final String[] SUCCESS_KEYWORDS = {"success", "entry_count", "points"};
+    private static final String SIGN_IN_TEXT = "Sign in through STEAM";
+    private static final String NO_RESULTS_TEXT = "No results were found.";
+    private static final int PARSER_COUNT = Runtime.getRuntime().availableProcessors();
+    private static final int PAGE_QUEUE_CAPACITY = PARSER_COUNT * 2;
+    // compared by identity to stop the parsers once all pages are fetched
+    private static final FetchedPage END_OF_PAGES = new FetchedPage(null, null);
     private final RequestsFileContent requestsFileContent;
+    private final HttpExchangeArchive exchangeArchive;
+    private final Deadline runDeadline;
+    private final RunJournal runJournal;
+    private final RunMetrics runMetrics = new RunMetrics();
+    private final Map<String, GiveawayFeed> giveawayFeeds = new ConcurrentHashMap<>();
+
+    private record FetchedPage(GiveawayFeed feed, String page) {
+    }
+
+    private record FeedGiveaway(GiveawayFeed feed, Giveaway giveaway) {
+    }
+
+    private record EnteredGiveawaysPage(String[] titles, String[] links, boolean isLastPage) {
+    }
 
     private boolean hasNoSession() {
-        var document = getDocumentFromUrl(BASE_URL);
-        if (document == null) return false;
-        return document.toString().contains("Sign in through STEAM");
+        try {
+            getDocumentFromUrl(BASE_URL);
+            return false;
+        } catch (InvalidSessionException e) {
+            return true;
+        }
     }
 
-    public SteamgiftsHttpClient(RequestsFileContent requestsFileContent) {
+    public SteamgiftsHttpClient(RequestsFileContent requestsFileContent, HttpExchangeArchive exchangeArchive,
+                                Deadline runDeadline, RunJournal runJournal) {
         this.requestsFileContent = requestsFileContent;
-        if (hasNoSession()) throw new RuntimeException("No session associated with the provided cookie found");
+        this.exchangeArchive = exchangeArchive;
+        this.runDeadline = runDeadline;
+        this.runJournal = runJournal;
+        if (hasNoSession()) throw new InvalidSessionException();
     }
 
-    public Giveaway[] scrapeAvailableGiveaways() {
-        Map<String, Giveaway> giveaways = new HashMap<>();
-        int pageNumber = 1;
-        AtomicInteger scrappedPages = new AtomicInteger(0);
-        Stream<Boolean> hasMorePages;
-        int requestBatchSize = 10;
-        Instant startTime = Instant.now();
+    public RunMetrics getRunMetrics() {
+        return runMetrics;
+    }
 
-        try (var threadPool = Executors.newVirtualThreadPerTaskExecutor()) {
-            List<CompletableFuture<Giveaway[]>> futures = new ArrayList<>();
-            do {
-                hasMorePages = IntStream.range(pageNumber, pageNumber + requestBatchSize).mapToObj(index -> threadPool.submit(() -> {
-                    var document = getDocumentFromUrl(GIVEAWAY_SEARCH_URL + index);
+    /**
+     * Waits for all futures until the deadline passes, on timeout or invalid session every task still in flight
+     * is cancelled, results of all tasks that completed successfully are returned.
+     */
+    private static <T> List<T> awaitAll(ExecutorService threadPool, List<Future<T>> futures, Deadline deadline) {
+        List<T> results = new ArrayList<>();
+        int index = 0;
 
-                    if (document == null || document.toString().contains("No results were found.")) {
-                        return null;
+        try {
+            for (; index < futures.size(); index++) {
+                try {
+                    results.add(futures.get(index).get(deadline.getRemainingMillis(), TimeUnit.MILLISECONDS));
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof InvalidSessionException invalidSessionException) {
+                        threadPool.shutdownNow();
+                        throw invalidSessionException;
                     }
+                    e.printStackTrace();
+                }
+            }
+        } catch (TimeoutException e) {
+            threadPool.shutdownNow();
+            Utils.printDeadlineExceeded();
+            addCompletedResults(results, futures.subList(index, futures.size()));
+        } catch (InterruptedException e) {
+            threadPool.shutdownNow();
+            Thread.currentThread().interrupt();
+            addCompletedResults(results, futures.subList(index, futures.size()));
+        }
 
-                    var gameElements = document.select(INNER_GIVEAWAY_WRAP_CLASS);
+        return results;
+    }
 
-                    scrappedPages.getAndIncrement();
+    private static <T> void addCompletedResults(List<T> results, List<Future<T>> futures) {
+        for (Future<T> future : futures) {
+            if (future.state() == Future.State.SUCCESS) results.add(future.resultNow());
+        }
+    }
 
-                    return gameElements.stream().map(this::getGiveawayFromElement).filter(Objects::nonNull).toList().toArray(Giveaway[]::new);
-                })).map(giveawayFuture -> {
+    /**
+     * Scrapes listing pages in two stages, virtual threads only fetch raw pages into a bounded queue which blocks
+     * them whenever the fixed pool of parsers sized to the available cores falls behind. Every feed is crawled
+     * concurrently, giveaways found in several feeds are kept once and returned in the order of feed priority.
+     */
+    public Giveaway[] scrapeAvailableGiveaways(final Map<GiveawayFeed, Integer> feedPageLimits) {
+        Map<String, FeedGiveaway> giveaways = new ConcurrentHashMap<>();
+        BlockingQueue<FetchedPage> pages = new ArrayBlockingQueue<>(PAGE_QUEUE_CAPACITY);
+        AtomicInteger scrappedPages = new AtomicInteger(0);
+        Instant startTime = Instant.now();
+        Deadline deadline = runDeadline.withTimeout(Settings.getPhaseTimeout());
+        Runnable printProgress = () -> Utils.printScrapedGiveaways(scrappedPages.get(), giveaways.size(),
+                Duration.between(startTime, Instant.now()).toMillis());
+
+        try (var parsePool = Executors.newFixedThreadPool(PARSER_COUNT);
+             var fetchPool = Executors.newVirtualThreadPerTaskExecutor();
+             var feedPool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Boolean>> parsers = IntStream.range(0, PARSER_COUNT).mapToObj(index -> parsePool.submit(() -> {
+                FetchedPage fetchedPage;
+                while ((fetchedPage = pages.take()) != END_OF_PAGES) {
                     try {
-                        Giveaway[] giveawayList = giveawayFuture.get();
-                        if (giveawayList == null) {
-                            return false;
-                        } else {
-                            for (Giveaway giveaway : giveawayList) {
-                                giveaways.put(giveaway.getRelativeUrl(), giveaway);
-                            }
+                        for (Giveaway giveaway : parseGiveaways(fetchedPage.page())) {
+                            giveaways.merge(giveaway.getGiveawayCode(), new FeedGiveaway(fetchedPage.feed(), giveaway),
+                                    (current, other) -> current.feed().compareTo(other.feed()) <= 0 ? current : other);
                         }
-                    } catch (ExecutionException | InterruptedException e) {
+                        scrappedPages.getAndIncrement();
+                    } catch (RuntimeException e) {
                         e.printStackTrace();
-                        Thread.currentThread().interrupt();
                     }
-                    return true;
-                });
-                pageNumber += requestBatchSize;
+                }
+                return true;
+            })).toList();
+
+            try {
+                List<Future<Boolean>> feedCrawls = feedPageLimits.entrySet().stream()
+                        .filter(feedPageLimit -> feedPageLimit.getKey() != GiveawayFeed.DLC ||
+                                !requestsFileContent.getConstraints().isExcludeDlc())
+                        .map(feedPageLimit -> feedPool.submit(() -> crawlFeed(feedPageLimit.getKey(),
+                                feedPageLimit.getValue(), fetchPool, pages, deadline, printProgress))).toList();
+                awaitAll(feedPool, feedCrawls, deadline);
+            } catch (InvalidSessionException e) {
+                parsePool.shutdownNow();
+                throw e;
+            }
 
-                Utils.printScrapedGiveaways(scrappedPages.get(), giveaways.size(), Duration.between(startTime, Instant.now()).toMillis());
-            } while (hasMorePages.allMatch(x -> x));
+            try {
+                for (int i = 0; i < PARSER_COUNT; i++) {
+                    pages.put(END_OF_PAGES);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            awaitAll(parsePool, parsers, deadline);
 
+            printProgress.run();
             System.out.println();
+            runMetrics.addScrapedPages(scrappedPages.get());
+            runMetrics.recordPhase("scrape", Duration.between(startTime, Instant.now()).toMillis());
 
-            return giveaways.values().toArray(Giveaway[]::new);
+            giveaways.forEach((code, feedGiveaway) -> giveawayFeeds.put(code, feedGiveaway.feed()));
+
+            return giveaways.values().stream().sorted(Comparator.comparing(FeedGiveaway::feed))
+                    .map(FeedGiveaway::giveaway).toArray(Giveaway[]::new);
         }
     }
 
+    private boolean crawlFeed(GiveawayFeed feed, int pageLimit, ExecutorService fetchPool,
+                              BlockingQueue<FetchedPage> pages, Deadline deadline, Runnable printProgress) {
+        int pageNumber = 1;
+        boolean hasMorePages = true;
+        int requestBatchSize = 10;
+
+        try {
+            while (hasMorePages && pageNumber <= pageLimit && !fetchPool.isShutdown()) {
+                int lastPageNumber = (int) Math.min((long) pageNumber + requestBatchSize - 1, pageLimit);
+                final int firstPageNumber = pageNumber;
+                List<Future<Boolean>> futures = IntStream.rangeClosed(firstPageNumber, lastPageNumber)
+                        .mapToObj(index -> fetchPool.submit(() -> fetchGiveawaysPage(feed, index, pages))).toList();
+
+                for (Boolean hasResults : awaitAll(fetchPool, futures, deadline)) {
+                    if (!hasResults) hasMorePages = false;
+                }
+                pageNumber = lastPageNumber + 1;
+
+                printProgress.run();
+            }
+        } catch (RejectedExecutionException e) {
+            // another feed already cancelled the fetches
+        }
+
+        return true;
+    }
+
+    private boolean fetchGiveawaysPage(GiveawayFeed feed, int pageNumber, BlockingQueue<FetchedPage> pages)
+            throws InterruptedException {
+        var page = getPageFromUrl(GIVEAWAY_SEARCH_URL + pageNumber + feed.getSearchQuery() +
+                requestsFileContent.getConstraints().toSearchQuery());
+
+        if (page == null || page.contains(NO_RESULTS_TEXT)) {
+            return false;
+        }
+
+        pages.put(new FetchedPage(feed, page));
+        return true;
+    }
+
+    private Giveaway[] parseGiveaways(String page) {
+        var gameElements = Jsoup.parse(page, BASE_URL).select(INNER_GIVEAWAY_WRAP_CLASS);
+
+        return gameElements.stream().map(this::getGiveawayFromElement).filter(Objects::nonNull).toArray(Giveaway[]::new);
+    }
+
+    public Giveaway[] resolveTruncatedTitles(final Giveaway[] giveaways, final GiveawayTitleCache titleCache,
+                                             final TitleIndex titleIndex) {
+        Instant startTime = Instant.now();
+        Deadline deadline = runDeadline.withTimeout(Settings.getPhaseTimeout());
+        List<Giveaway> truncatedGiveaways = Arrays.stream(giveaways)
+                .filter(giveaway -> Utils.isTruncatedCandidate(giveaway, titleIndex)).toList();
+        List<Giveaway> uncachedGiveaways = truncatedGiveaways.stream()
+                .filter(giveaway -> !titleCache.contains(giveaway.getGiveawayCode())).toList();
+        int fetchedTitles = 0;
+        int requestBatchSize = 10;
+
+        try (var threadPool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < uncachedGiveaways.size() && !threadPool.isShutdown(); i += requestBatchSize) {
+                List<Future<Boolean>> futures = uncachedGiveaways
+                        .subList(i, Math.min(i + requestBatchSize, uncachedGiveaways.size())).stream()
+                        .map(giveaway -> threadPool.submit(() -> resolveTitle(giveaway, titleCache))).toList();
+
+                for (Boolean isResolved : awaitAll(threadPool, futures, deadline)) {
+                    if (isResolved) fetchedTitles++;
+                }
+            }
+        }
+
+        titleCache.save();
+
+        int resolvedTitles = 0;
+        Giveaway[] resolvedGiveaways = new Giveaway[giveaways.length];
+        for (int i = 0; i < giveaways.length; i++) {
+            var giveaway = giveaways[i];
+            var fullTitle = TitleKey.isTruncated(giveaway.getTitle()) ? titleCache.getTitle(giveaway.getGiveawayCode()) : null;
+            if (fullTitle != null) {
+                resolvedTitles++;
+                resolvedGiveaways[i] = giveaway.withTitle(fullTitle);
+            } else {
+                resolvedGiveaways[i] = giveaway;
+            }
+        }
+
+        Utils.printResolvedTruncatedTitles(resolvedTitles, fetchedTitles);
+        runMetrics.recordPhase("resolve", Duration.between(startTime, Instant.now()).toMillis());
+
+        return resolvedGiveaways;
+    }
+
+    private boolean resolveTitle(Giveaway giveaway, GiveawayTitleCache titleCache) {
+        var document = getDocumentFromUrl(BASE_URL + giveaway.getRelativeUrl());
+        if (document == null) return false;
+
+        var titleElement = document.select(FEATURED_HEADING_CLASS).first();
+        if (titleElement == null) return false;
+
+        String appId = null;
+        var storeLink = document.select(STEAM_STORE_LINK_SELECTOR).first();
+        if (storeLink != null) {
+            appId = storeLink.attr("href").replaceAll(".*/app/(\\d+).*", "$1");
+        }
+
+        titleCache.put(giveaway.getGiveawayCode(), appId, titleElement.text());
+        return true;
+    }
+
     private Giveaway getGiveawayFromElement(Element element) {
         Element nameElement = element.select(GIVEAWAY_HEADING_NAME_CLASS).first();
         if (nameElement == null) return null;
@@ -107,27 +302,62 @@ public class SteamgiftsHttpClient {
         } else {
             relativeUrl = element.select(GIVEAWAY_THUMBNAIL_MISSING_CLASS).attr("href");
         }
+        if (relativeUrl.isBlank()) return null;
 
         int pointCost = 0;
-        Element pointElement = element.select(GIVEAWAY_MISC_CLASS).last();
+        int copies = 1;
+        Elements miscElements = element.select(GIVEAWAY_MISC_CLASS);
+        Element pointElement = miscElements.last();
         if (pointElement != null) {
             pointCost = Integer.parseInt(pointElement.text().replaceAll(NOT_NUMBER_REGEX, ""));
         }
+        if (miscElements.size() > 1 && miscElements.first().text().contains("Copies")) {
+            copies = Integer.parseInt(miscElements.first().text().replaceAll(NOT_NUMBER_REGEX, ""));
+        }
 
-        return new Giveaway(title, relativeUrl, pointCost);
+        boolean regionRestricted = !element.select(GIVEAWAY_REGION_RESTRICTED_CLASS).isEmpty();
+
+        return new Giveaway(title, relativeUrl, pointCost, copies, regionRestricted);
     }
 
-    private Document getDocumentFromUrl(String url) {
-        Document document = null;
+    private String fetch(Connection.Method method, String url, String referrer, String requestBody)
+            throws IOException {
+        if (exchangeArchive != null && exchangeArchive.isReplaying()) {
+            return exchangeArchive.replay(method.name(), url, requestBody);
+        }
+
+        Instant startTime = Instant.now();
+        Connection connection = Jsoup.connect(url).method(method)
+                .cookie(requestsFileContent.getCookieName(), requestsFileContent.getCookieValue());
+        if (referrer != null) connection.referrer(referrer);
+        if (requestBody != null) connection.requestBody(requestBody).ignoreContentType(true);
+        String responseBody = connection.execute().body();
+
+        if (exchangeArchive != null) {
+            exchangeArchive.record(method.name(), url, requestBody, responseBody,
+                    Duration.between(startTime, Instant.now()).toMillis());
+        }
+
+        return responseBody;
+    }
+
+    private String getPageFromUrl(String url) {
+        String page = null;
 
         try {
-            document = Jsoup.connect(url).cookie(requestsFileContent.getCookieName(),
-                    requestsFileContent.getCookieValue()).get();
+            page = fetch(Connection.Method.GET, url, null, null);
         } catch (IOException exception) {
             exception.printStackTrace();
+            runMetrics.incrementFetchErrors();
         }
 
-        return document;
+        if (page != null && page.contains(SIGN_IN_TEXT)) throw new InvalidSessionException();
+        return page;
+    }
+
+    private Document getDocumentFromUrl(String url) {
+        var page = getPageFromUrl(url);
+        return page == null ? null : Jsoup.parse(page, url);
     }
 
     private int getRemainingPoints() {
@@ -136,99 +366,145 @@ public class SteamgiftsHttpClient {
         return Integer.parseInt(document.select(NAV_POINTS_CLASS).text());
     }
 
-    private String[] scrapeLinksToEnteredGiveaways() {
+    private String[] scrapeLinksToEnteredGiveaways(Deadline deadline) {
         List<String> links = new ArrayList<>();
         int pageNumber = 1;
         boolean hasMore = true;
 
         do {
-            var document = getDocumentFromUrl(ENTERED_GIVEAWAYS_SEARCH_URL + pageNumber);
-            if (document != null) {
-                var elements = document.select(TABLE_ROW_INNER_WRAP_CLASS);
-
-                for (var element : elements) {
-                    if (element.select(TABLE_COLUMN_SECONDARY_LINK_CLASS).isEmpty()) {
-                        if (element == elements.last()) {
-                            hasMore = false;
-                            break;
-                        }
-                    } else {
-                        links.add(element.select(TABLE_COLUMN_HEADING_CLASS).attr("href"));
-                    }
-                }
-
+            var page = getPageFromUrl(ENTERED_GIVEAWAYS_SEARCH_URL + pageNumber);
+            if (page != null) {
+                var enteredGiveawaysPage = parseEnteredGiveawaysPage(page);
+                links.addAll(Arrays.asList(enteredGiveawaysPage.links()));
+                hasMore = !enteredGiveawaysPage.isLastPage();
                 pageNumber++;
             } else {
                 hasMore = false;
             }
-        } while (hasMore);
+        } while (hasMore && !deadline.hasExpired());
 
         return links.toArray(String[]::new);
     }
 
-    private boolean enterGiveaway(Giveaway giveaway) {
+    private EnteredGiveawaysPage parseEnteredGiveawaysPage(String page) {
+        var document = Jsoup.parse(page, BASE_URL);
+        var elements = document.select(TABLE_ROW_INNER_WRAP_CLASS);
+        List<String> links = new ArrayList<>();
+        boolean isLastPage = false;
+
+        for (var element : elements) {
+            if (element.select(TABLE_COLUMN_SECONDARY_LINK_CLASS).isEmpty()) {
+                if (element == elements.last()) {
+                    isLastPage = true;
+                    break;
+                }
+            } else {
+                links.add(element.select(TABLE_COLUMN_HEADING_CLASS).attr("href"));
+            }
+        }
+
+        var titles = document.select(TABLE_COLUMN_HEADING_CLASS).stream().map(Element::text).toArray(String[]::new);
+
+        return new EnteredGiveawaysPage(titles, links.toArray(String[]::new), isLastPage);
+    }
+
+    private EntryResult enterGiveaway(Giveaway giveaway) {
         try {
             String body = "xsrf_token=" + requestsFileContent.getXsrfToken() + "&do=entry_insert&code=" +
                     giveaway.getGiveawayCode();
 
-            Document document = Jsoup.connect(AJAX_REQUEST_URL).referrer(BASE_URL + giveaway.getRelativeUrl())
-                    .cookie(requestsFileContent.getCookieName(), requestsFileContent.getCookieValue())
-                    .requestBody(body).ignoreContentType(true).post();
-
-            String response = document.text();
-
-            for (String element : SUCCESS_KEYWORDS) {
-                if (!response.contains(element)) {
-                    return false;
-                }
-            }
+            String response = fetch(Connection.Method.POST, AJAX_REQUEST_URL, BASE_URL + giveaway.getRelativeUrl(),
+                    body);
 
-            return true;
+            return EntryResult.fromResponse(response);
         } catch (Exception e) {
             e.printStackTrace();
-            return false;
+            runMetrics.incrementFetchErrors();
+            return EntryResult.UNKNOWN;
         }
     }
 
-    public void enterGiveaways(final Giveaway[] giveaways) {
-        List<String> linksToEnteredGiveaways = Arrays.asList(scrapeLinksToEnteredGiveaways());
+    public Giveaway[] getEntryCandidates(final Giveaway[] giveaways, final FailedEntryCache failedEntryCache) {
+        Instant startTime = Instant.now();
+        Deadline deadline = runDeadline.withTimeout(Settings.getPhaseTimeout());
+        List<String> linksToEnteredGiveaways = Arrays.asList(scrapeLinksToEnteredGiveaways(deadline));
         List<Giveaway> notEnteredGiveaways = new ArrayList<>();
 
         Utils.printFoundEnteredGiveaways(linksToEnteredGiveaways.size());
 
+        int skippedGiveaways = 0;
         for (Giveaway giveaway : giveaways) {
-            if (!linksToEnteredGiveaways.contains(giveaway.getRelativeUrl())) {
+            if (failedEntryCache.contains(giveaway.getGiveawayCode())) {
+                skippedGiveaways++;
+            } else if (!linksToEnteredGiveaways.contains(giveaway.getRelativeUrl())) {
                 notEnteredGiveaways.add(giveaway);
             }
         }
 
+        Utils.printSkippedFailedGiveaways(skippedGiveaways);
         Utils.printFoundGiveawayCandidates(notEnteredGiveaways.size());
+        runMetrics.setCandidates(notEnteredGiveaways.size());
+        runMetrics.recordPhase("candidates", Duration.between(startTime, Instant.now()).toMillis());
+
+        return notEnteredGiveaways.toArray(Giveaway[]::new);
+    }
+
+    /**
+     * Enters the candidates one feed at a time in the order of feed priority, entries of a feed are sent
+     * concurrently but only after all entries of the higher priority feeds have completed, so lower priority
+     * giveaways never spend the points first.
+     */
+    public void enterGiveaways(final Giveaway[] giveaways, final FailedEntryCache failedEntryCache) {
+        var notEnteredGiveaways = getEntryCandidates(giveaways, failedEntryCache);
+        Instant startTime = Instant.now();
+        Deadline deadline = runDeadline.withTimeout(Settings.getPhaseTimeout());
+
+        Map<GiveawayFeed, List<Giveaway>> giveawaysByFeed = Arrays.stream(notEnteredGiveaways)
+                .collect(Collectors.groupingBy(giveaway -> giveawayFeeds.getOrDefault(giveaway.getGiveawayCode(),
+                        GiveawayFeed.ALL), () -> new EnumMap<>(GiveawayFeed.class), Collectors.toList()));
+        List<Giveaway> giveawayList = new ArrayList<>();
 
         try (var threadPool = Executors.newVirtualThreadPerTaskExecutor()) {
-            List<CompletableFuture<Giveaway>> futures = new ArrayList<>();
-            var giveawayList = notEnteredGiveaways.stream().map(giveaway -> threadPool.submit(() -> {
-                if (enterGiveaway(giveaway)) {
-                    Utils.printEnteredGiveaway(giveaway.getTitle());
-                    return giveaway;
-                } else {
-                    Utils.printFailedToEnterGiveaway(giveaway.getTitle());
-                    return null;
-                }
-            })).map(future -> {
-                try {
-                    return future.get();
-                }  catch (ExecutionException | InterruptedException e) {
-                    throw new RuntimeException(e);
+            for (List<Giveaway> feedGiveaways : giveawaysByFeed.values()) {
+                if (deadline.hasExpired()) {
+                    Utils.printDeadlineExceeded();
+                    break;
                 }
-            }).filter(Objects::nonNull).toList();
+                if (threadPool.isShutdown()) break;
+
+                List<Future<Giveaway>> futures = feedGiveaways.stream()
+                        .map(giveaway -> threadPool.submit(() -> enterGiveaway(giveaway, failedEntryCache))).toList();
+                awaitAll(threadPool, futures, deadline).stream().filter(Objects::nonNull).forEach(giveawayList::add);
+            }
+            failedEntryCache.save();
             int enteredGiveaways = giveawayList.size();
             int pointsSpent = giveawayList.stream().map(Giveaway::getPointCost).reduce(0, Integer::sum);
 
-            Utils.printFinalSummary(enteredGiveaways, pointsSpent, getRemainingPoints());
+            int remainingPoints = getRemainingPoints();
+            runMetrics.setRemainingPoints(remainingPoints);
+            runMetrics.recordPhase("enter", Duration.between(startTime, Instant.now()).toMillis());
+
+            Utils.printFinalSummary(enteredGiveaways, pointsSpent, remainingPoints);
+        }
+    }
+
+    private Giveaway enterGiveaway(Giveaway giveaway, FailedEntryCache failedEntryCache) {
+        Instant entryStartTime = Instant.now();
+        var entryResult = enterGiveaway(giveaway);
+        runJournal.recordEntryAttempt(giveaway, entryResult, Duration.between(entryStartTime, Instant.now()).toMillis());
+        runMetrics.recordEntry(entryResult, giveaway.getPointCost());
+        if (entryResult == EntryResult.ENTERED) {
+            Utils.printEnteredGiveaway(giveaway.getTitle());
+            return giveaway;
+        } else {
+            if (entryResult.isPermanent()) failedEntryCache.put(giveaway.getGiveawayCode(), entryResult);
+            Utils.printFailedToEnterGiveaway(giveaway.getTitle(), entryResult);
+            return null;
         }
     }
 
     public String[] scrapeTitlesOfAllEnteredGiveaways() {
+        Instant startTime = Instant.now();
         var document = getDocumentFromUrl(ENTERED_GIVEAWAYS_URL);
 
         if (document == null) return new String[]{};
@@ -238,28 +514,20 @@ public class SteamgiftsHttpClient {
         if (lastDataPageNumberElement == null) return new String[]{};
 
         int pageCount = Integer.parseInt(lastDataPageNumberElement.attr("data-page-number"));
+        Deadline deadline = runDeadline.withTimeout(Settings.getPhaseTimeout());
         try (var threadPool = Executors.newVirtualThreadPerTaskExecutor()) {
-            return IntStream.range(1, pageCount).mapToObj(index -> threadPool.submit(() -> {
-                Document searchDocument = getDocumentFromUrl(ENTERED_GIVEAWAYS_SEARCH_URL + index);
-                if (searchDocument == null) return new String[]{};
-                var elements = searchDocument.select(TABLE_COLUMN_HEADING_CLASS);
-                List<String> giveawayTitles = new ArrayList<>();
-                for (var element : elements) {
-                    giveawayTitles.add(element.text());
-                }
-                return giveawayTitles.toArray(String[]::new);
-            })).map(future -> {
-                try {
-                    var titlesOnPage = future.get();
-                    return Arrays.stream(titlesOnPage)
-                            .map(titles -> titles.replaceAll(" \\(\\d+ Copies\\)", ""))
-                            .collect(Collectors.toSet());
-                } catch (ExecutionException | InterruptedException e) {
-                    e.printStackTrace();
-                    Thread.currentThread().interrupt();
-                }
-                return new HashSet<String>();
-            }).flatMap(Collection::stream).distinct().toArray(String[]::new);
+            List<Future<String[]>> futures = IntStream.range(1, pageCount).mapToObj(index -> threadPool.submit(() -> {
+                var page = getPageFromUrl(ENTERED_GIVEAWAYS_SEARCH_URL + index);
+                if (page == null) return new String[]{};
+                return parseEnteredGiveawaysPage(page).titles();
+            })).toList();
+
+            var titles = awaitAll(threadPool, futures, deadline).stream().flatMap(Arrays::stream)
+                    .map(TitleKey::stripCopiesSuffix)
+                    .distinct().toArray(String[]::new);
+            runMetrics.addScrapedPages(futures.size());
+            runMetrics.recordPhase("enteredTitles", Duration.between(startTime, Instant.now()).toMillis());
+            return titles;
         }
     }
 }
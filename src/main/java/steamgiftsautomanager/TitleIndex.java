@@ -0,0 +1,86 @@
+package steamgiftsautomanager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Requested titles with their title keys computed once, exact and no match titles are also indexed by key.
+ */
+public class TitleIndex {
+    private final Entries exactMatches;
+    private final Entries anyMatches;
+    private final Entries noMatches;
+    private final Map<String, String> exactMatchesByKey;
+    private final Map<String, String> noMatchesByKey;
+
+    private record Entries(String[] titles, String[] keys) {
+    }
+
+    public TitleIndex(RequestsFileContent requestsFileContent) {
+        this.exactMatches = getEntries(requestsFileContent.getExactMatches());
+        this.anyMatches = getEntries(requestsFileContent.getAnyMatches());
+        this.noMatches = getEntries(requestsFileContent.getNoMatches());
+        this.exactMatchesByKey = getEntriesByKey(exactMatches);
+        this.noMatchesByKey = getEntriesByKey(noMatches);
+    }
+
+    /**
+     * Titles without any letters or digits are skipped as their empty keys would match every title.
+     */
+    private static Entries getEntries(String[] titles) {
+        List<String> entryTitles = new ArrayList<>(titles.length);
+        List<String> entryKeys = new ArrayList<>(titles.length);
+
+        for (String title : titles) {
+            var key = TitleKey.normalize(title);
+            if (!key.isEmpty()) {
+                entryTitles.add(title);
+                entryKeys.add(key);
+            }
+        }
+
+        return new Entries(entryTitles.toArray(String[]::new), entryKeys.toArray(String[]::new));
+    }
+
+    private static Map<String, String> getEntriesByKey(Entries entries) {
+        Map<String, String> entriesByKey = new HashMap<>(entries.keys().length * 2);
+        for (int i = 0; i < entries.keys().length; i++) {
+            entriesByKey.putIfAbsent(entries.keys()[i], entries.titles()[i]);
+        }
+        return entriesByKey;
+    }
+
+    public String findExactMatch(String titleKey) {
+        return exactMatchesByKey.get(titleKey);
+    }
+
+    public String findNoMatch(String titleKey) {
+        return noMatchesByKey.get(titleKey);
+    }
+
+    public String[] getExactMatches() {
+        return exactMatches.titles();
+    }
+
+    public String[] getExactMatchKeys() {
+        return exactMatches.keys();
+    }
+
+    public String[] getAnyMatches() {
+        return anyMatches.titles();
+    }
+
+    public String[] getAnyMatchKeys() {
+        return anyMatches.keys();
+    }
+
+    public String[] getNoMatches() {
+        return noMatches.titles();
+    }
+
+    public String[] getNoMatchKeys() {
+        return noMatches.keys();
+    }
+}
@@ -0,0 +1,88 @@
+package steamgiftsautomanager;
+
+import java.text.Normalizer;
+
+/**
+ * Normalized form of a title shared by every matcher, titles are NFKC normalized and case folded, apostrophes,
+ * trademark signs and the copies suffix are removed and any other punctuation becomes a single space.
+ */
+public class TitleKey {
+    private static final String TRUNCATION_SUFFIX = "...";
+    private static final String COPIES_SUFFIX = " Copies)";
+
+    private TitleKey() {
+    }
+
+    public static String normalize(String title) {
+        String value = stripCopiesSuffix(title);
+
+        // most requested titles are already normalized, they are returned without any allocation
+        if (isNormalizedAscii(value)) return value;
+
+        if (!isAscii(value)) {
+            value = Normalizer.normalize(value.replace("\u2122", "").replace("\u2120", ""), Normalizer.Form.NFKC);
+        }
+
+        var key = new StringBuilder(value.length());
+        boolean hasPendingSeparator = false;
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (hasPendingSeparator && !key.isEmpty()) key.append(' ');
+                hasPendingSeparator = false;
+                key.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (!isIgnoredCharacter(codePoint)) {
+                hasPendingSeparator = true;
+            }
+        }
+
+        return key.toString();
+    }
+
+    public static boolean isTruncated(String title) {
+        return title.endsWith(TRUNCATION_SUFFIX);
+    }
+
+    public static String stripCopiesSuffix(String title) {
+        if (!title.endsWith(COPIES_SUFFIX)) return title;
+
+        int start = title.lastIndexOf(" (");
+        int end = title.length() - COPIES_SUFFIX.length();
+        if (start < 0 || start + 2 >= end) return title;
+
+        for (int i = start + 2; i < end; i++) {
+            char character = title.charAt(i);
+            if ((character < '0' || character > '9') && character != ',') return title;
+        }
+
+        return title.substring(0, start);
+    }
+
+    private static boolean isIgnoredCharacter(int codePoint) {
+        return codePoint == '\'' || codePoint == '\u2019' || codePoint == '\u2018' || codePoint == '\u02bc' ||
+                codePoint == '\u00ae' || codePoint == '\u00a9';
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    private static boolean isNormalizedAscii(String value) {
+        if (value.isEmpty()) return true;
+        if (value.charAt(0) == ' ' || value.charAt(value.length() - 1) == ' ') return false;
+
+        char previous = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            boolean isLetterOrDigit = (character >= 'a' && character <= 'z') || (character >= '0' && character <= '9');
+            if (!isLetterOrDigit && (character != ' ' || previous == ' ')) return false;
+            previous = character;
+        }
+        return true;
+    }
+}
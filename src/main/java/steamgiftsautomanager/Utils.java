@@ -1,60 +1,110 @@
 package steamgiftsautomanager;
 
 import java.util.Arrays;
-import java.util.List;
+import java.util.Comparator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 public class Utils {
 
     private Utils() {
     }
 
-    private static boolean customFilter(final String giveawayTitle, final RequestsFileContent requestsFileContent) {
-        String lowercaseTitle = giveawayTitle.toLowerCase();
+    private static boolean customFilter(final Giveaway giveaway, final TitleIndex titleIndex,
+                                        final FilterStatistics statistics) {
+        String titleKey = giveaway.getTitleKey();
 
-        if (lowercaseTitle.endsWith("...")) {
-            String shortTitle = lowercaseTitle.substring(0, lowercaseTitle.length() - 3);
+        if (TitleKey.isTruncated(giveaway.getTitle())) {
+            if (titleKey.isEmpty()) return false;
 
-            for (String title : requestsFileContent.getNoMatches()) {
-                if (title.contains(shortTitle)) {
-                    return false;
-                }
+            if (anyEntryMatches(MatchTag.NO_MATCH, titleIndex.getNoMatches(), titleIndex.getNoMatchKeys(),
+                    key -> key.contains(titleKey), statistics)) {
+                return false;
             }
 
-            for (String title : requestsFileContent.getExactMatches()) {
-                if (title.contains(shortTitle)) {
-                    return true;
-                }
+            if (anyEntryMatches(MatchTag.EXACT_MATCH, titleIndex.getExactMatches(), titleIndex.getExactMatchKeys(),
+                    key -> key.contains(titleKey), statistics)) {
+                return true;
             }
 
-            for (String title : requestsFileContent.getAnyMatches()) {
-                if (shortTitle.contains(title.toLowerCase())) {
-                    return true;
-                }
-            }
+            return anyEntryMatches(MatchTag.ANY_MATCH, titleIndex.getAnyMatches(), titleIndex.getAnyMatchKeys(),
+                    titleKey::contains, statistics);
         } else {
-            List<String> noMatchesList = Arrays.asList(requestsFileContent.getNoMatches());
-            if (noMatchesList.contains(lowercaseTitle)) {
+            if (indexedEntryMatches(MatchTag.NO_MATCH, titleKey, titleIndex::findNoMatch, statistics)) {
                 return false;
             }
 
-            List<String> exactMatchesList = Arrays.asList(requestsFileContent.getExactMatches());
-            if (exactMatchesList.contains(lowercaseTitle)) {
+            if (indexedEntryMatches(MatchTag.EXACT_MATCH, titleKey, titleIndex::findExactMatch, statistics)) {
                 return true;
             }
 
-            for (String title : requestsFileContent.getAnyMatches()) {
-                if (lowercaseTitle.contains(title)) {
-                    return true;
-                }
+            return anyEntryMatches(MatchTag.ANY_MATCH, titleIndex.getAnyMatches(), titleIndex.getAnyMatchKeys(),
+                    titleKey::contains, statistics);
+        }
+    }
+
+    private static boolean anyEntryMatches(final MatchTag matchTag, final String[] entries, final String[] keys,
+                                           final Predicate<String> predicate, final FilterStatistics statistics) {
+        for (int i = 0; i < keys.length; i++) {
+            if (statistics == null) {
+                if (predicate.test(keys[i])) return true;
+            } else {
+                long start = System.nanoTime();
+                boolean matched = predicate.test(keys[i]);
+                statistics.record(matchTag, entries[i], matched, System.nanoTime() - start);
+                if (matched) return true;
             }
         }
 
         return false;
     }
 
+    /**
+     * Looks the title key up in the index, only the matched entry is evaluated so it is the only one recorded.
+     */
+    private static boolean indexedEntryMatches(final MatchTag matchTag, final String titleKey,
+                                               final UnaryOperator<String> index, final FilterStatistics statistics) {
+        long start = statistics == null ? 0 : System.nanoTime();
+        String entry = index.apply(titleKey);
+        if (entry != null && statistics != null) {
+            statistics.record(matchTag, entry, true, System.nanoTime() - start);
+        }
+        return entry != null;
+    }
+
+    /**
+     * Checks whether the truncated title could match any of the requested titles, only such titles are worth
+     * resolving from the giveaway page.
+     */
+    public static boolean isTruncatedCandidate(final Giveaway giveaway, final TitleIndex titleIndex) {
+        if (!TitleKey.isTruncated(giveaway.getTitle())) return false;
+
+        String titleKey = giveaway.getTitleKey();
+        if (titleKey.isEmpty()) return false;
+
+        for (String key : titleIndex.getNoMatchKeys()) {
+            if (key.contains(titleKey)) return true;
+        }
+
+        for (String key : titleIndex.getExactMatchKeys()) {
+            if (key.contains(titleKey)) return true;
+        }
+
+        for (String key : titleIndex.getAnyMatchKeys()) {
+            if (titleKey.contains(key)) return true;
+        }
+
+        return false;
+    }
+
     public static Giveaway[] filterGiveaways(Giveaway[] giveaways, RequestsFileContent requestsFileContent) {
-        return Arrays.stream(giveaways).filter(giveaway ->
-                Utils.customFilter(giveaway.getTitle(), requestsFileContent)).toArray(Giveaway[]::new);
+        return filterGiveaways(giveaways, requestsFileContent, new TitleIndex(requestsFileContent), null);
+    }
+
+    public static Giveaway[] filterGiveaways(Giveaway[] giveaways, RequestsFileContent requestsFileContent,
+                                             TitleIndex titleIndex, FilterStatistics statistics) {
+        return Arrays.stream(giveaways).filter(giveaway -> requestsFileContent.getConstraints().matches(giveaway) &&
+                Utils.customFilter(giveaway, titleIndex, statistics)).toArray(Giveaway[]::new);
     }
 
     public static void printFoundGiveawayCandidates(int giveawayCount) {
@@ -72,8 +122,14 @@ public class Utils {
         System.out.println("Entered giveaway for: " + giveawayTitle);
     }
 
-    public static void printFailedToEnterGiveaway(String giveawayTitle) {
-        System.out.println("Failed to enter giveaway for: " + giveawayTitle);
+    public static void printFailedToEnterGiveaway(String giveawayTitle, EntryResult entryResult) {
+        System.out.println("Failed to enter giveaway for: " + giveawayTitle + " (" + entryResult + ")");
+    }
+
+    public static void printSkippedFailedGiveaways(int giveawayCount) {
+        if (giveawayCount == 0) return;
+        System.out.println("Skipped " + giveawayCount + " previously failed " +
+                (giveawayCount == 1 ? "giveaway" : "giveaways"));
     }
 
     public static void printScrapedGiveaways(int pageNumber, int giveawayCount, long duration) {
@@ -81,12 +137,52 @@ public class Utils {
                 giveawayCount + (giveawayCount == 1 ? " giveaway" : " giveaways") + " in " + duration / 1000.0 + "s");
     }
 
+    public static void printDeadlineExceeded() {
+        System.out.println();
+        System.out.println("Deadline exceeded, cancelled all remaining requests");
+    }
+
+    public static void printResolvedTruncatedTitles(int titleCount, int fetchedCount) {
+        System.out.println("Resolved " + titleCount + " truncated " + (titleCount == 1 ? "title" : "titles") + ", " +
+                fetchedCount + " fetched from giveaway pages");
+    }
+
     public static void printFinalSummary(int giveawayCount, int pointsSpent, int remainingPoints) {
         System.out.println("Entered " + giveawayCount + (giveawayCount == 1 ? " giveaway" : " giveaways") + ", spent " +
                 pointsSpent + (pointsSpent == 1 ? " point" : " points") + ", " +
                 remainingPoints + (remainingPoints == 1 ? " point" : " points") + " remaining");
     }
 
+    public static void printPlannedEntries(Giveaway[] giveaways) {
+        int totalCost = 0;
+        for (Giveaway giveaway : giveaways) {
+            System.out.println("Planned entry: " + giveaway.getTitle() + " (" + giveaway.getPointCost() + "P)");
+            totalCost += giveaway.getPointCost();
+        }
+        System.out.println("Planned " + giveaways.length + (giveaways.length == 1 ? " entry" : " entries") +
+                " costing " + totalCost + (totalCost == 1 ? " point" : " points"));
+    }
+
+    public static void printFilterStatistics(RequestsFileContent requestsFileContent, FilterStatistics statistics) {
+        printFilterStatistics(MatchTag.EXACT_MATCH, requestsFileContent.getExactMatches(), statistics);
+        printFilterStatistics(MatchTag.ANY_MATCH, requestsFileContent.getAnyMatches(), statistics);
+        printFilterStatistics(MatchTag.NO_MATCH, requestsFileContent.getNoMatches(), statistics);
+    }
+
+    /**
+     * Complete titles are looked up by key in the exact and no match tags, so there an entry is only evaluated
+     * when it matches and its evaluations equal its matches.
+     */
+    private static void printFilterStatistics(MatchTag matchTag, String[] entries, FilterStatistics statistics) {
+        System.out.println("Filter statistics for titles tagged as " + matchTag +
+                (matchTag == MatchTag.ANY_MATCH ? ":" : " (looked up by key, only matching entries are evaluated):"));
+        Arrays.stream(entries)
+                .sorted(Comparator.comparingLong((String entry) -> statistics.getNanos(matchTag, entry)).reversed())
+                .forEach(entry -> System.out.println(entry + ": evaluated " + statistics.getEvaluations(matchTag, entry) +
+                        ", matched " + statistics.getMatches(matchTag, entry) + ", took " +
+                        statistics.getNanos(matchTag, entry) / 1000_000.0 + "ms"));
+    }
+
     public static void printFoundRequestedTitles(int titleCount, String tagName) {
         System.out.println("Found " + titleCount + " requested " + (titleCount == 1 ? " title" : "titles") +
                 " tagged as " + tagName);
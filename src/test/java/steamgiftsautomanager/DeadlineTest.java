@@ -0,0 +1,31 @@
+package steamgiftsautomanager;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineTest {
+    @Test
+    void deadlineWithoutTimeoutNeverExpiresTest() {
+        Deadline deadline = Deadline.after(null);
+        assertFalse(deadline.hasExpired());
+        assertEquals(Long.MAX_VALUE, deadline.getRemainingMillis());
+    }
+
+    @Test
+    void expiredDeadlineTest() {
+        Deadline deadline = Deadline.after(Duration.ZERO);
+        assertTrue(deadline.hasExpired());
+        assertEquals(0, deadline.getRemainingMillis());
+    }
+
+    @Test
+    void withTimeoutKeepsEarlierDeadlineTest() {
+        Deadline runDeadline = Deadline.after(Duration.ofSeconds(10));
+        assertEquals(runDeadline, runDeadline.withTimeout(null));
+        assertEquals(runDeadline, runDeadline.withTimeout(Duration.ofHours(1)));
+        assertTrue(runDeadline.withTimeout(Duration.ofSeconds(1)).getExpiresAt().isBefore(runDeadline.getExpiresAt()));
+    }
+}
@@ -0,0 +1,49 @@
+package steamgiftsautomanager;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntryResultTest {
+    @Test
+    void fromResponseTest() {
+        assertEquals(EntryResult.ENTERED,
+                EntryResult.fromResponse("{\"type\":\"success\",\"entry_count\":\"10\",\"points\":\"90\"}"));
+        assertEquals(EntryResult.NOT_ENOUGH_POINTS,
+                EntryResult.fromResponse("{\"type\":\"error\",\"msg\":\"Not Enough Points\"}"));
+        assertEquals(EntryResult.PREVIOUSLY_WON,
+                EntryResult.fromResponse("{\"type\":\"error\",\"msg\":\"Previously Won\"}"));
+        assertEquals(EntryResult.EXISTS_IN_ACCOUNT,
+                EntryResult.fromResponse("{\"type\":\"error\",\"msg\":\"Exists in Account\"}"));
+        assertEquals(EntryResult.UNKNOWN, EntryResult.fromResponse(""));
+    }
+
+    @Test
+    void fromResponseIgnoresNonJsonResponsesTest() {
+        assertEquals(EntryResult.UNKNOWN,
+                EntryResult.fromResponse("<html><body><div class=\"region\">Ended</div></body></html>"));
+        assertEquals(EntryResult.UNKNOWN, EntryResult.fromResponse("{\"type\":\"notice\",\"msg\":\"Previously Won\"}"));
+        assertEquals(EntryResult.UNKNOWN, EntryResult.fromResponse("{\"type\":\"error\",\"msg\":\"Group maintenance\"}"));
+        assertEquals(EntryResult.UNKNOWN, EntryResult.fromResponse("{\"type\":\"error\",\"msg\":\"Previously Won\""));
+    }
+
+    @Test
+    void parseFlatJsonObjectTest() {
+        var fields = EntryResult.parseFlatJsonObject(" {\"type\" : \"error\", \"msg\":\"a \\\"b\\\" \\u0063\", \"points\": 90} ");
+        assertNotNull(fields);
+        assertEquals("error", fields.get("type"));
+        assertEquals("a \"b\" c", fields.get("msg"));
+        assertEquals("90", fields.get("points"));
+        assertNull(EntryResult.parseFlatJsonObject("{\"type\":{\"nested\":1}}"));
+        assertNull(EntryResult.parseFlatJsonObject("{} trailing"));
+    }
+
+    @Test
+    void isPermanentTest() {
+        assertFalse(EntryResult.ENTERED.isPermanent());
+        assertFalse(EntryResult.NOT_ENOUGH_POINTS.isPermanent());
+        assertFalse(EntryResult.UNKNOWN.isPermanent());
+        assertTrue(EntryResult.PREVIOUSLY_WON.isPermanent());
+        assertTrue(EntryResult.REGION_RESTRICTED.isPermanent());
+    }
+}
@@ -0,0 +1,55 @@
+package steamgiftsautomanager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FailedEntryCacheTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void savedEntriesAreLoadedTest() {
+        Path cachePath = tempDir.resolve("failed.txt");
+        FailedEntryCache failedEntryCache = new FailedEntryCache(cachePath, Duration.ofDays(1));
+        failedEntryCache.put("code", EntryResult.PREVIOUSLY_WON);
+        failedEntryCache.save();
+
+        FailedEntryCache loadedCache = new FailedEntryCache(cachePath, Duration.ofDays(1));
+        assertTrue(loadedCache.contains("code"));
+        assertFalse(loadedCache.contains("otherCode"));
+    }
+
+    @Test
+    void expiredEntriesAreDroppedTest() {
+        Path cachePath = tempDir.resolve("failed.txt");
+        FailedEntryCache failedEntryCache = new FailedEntryCache(cachePath, Duration.ofDays(-1));
+        failedEntryCache.put("code", EntryResult.PREVIOUSLY_WON);
+        failedEntryCache.save();
+
+        assertFalse(new FailedEntryCache(cachePath, Duration.ofDays(1)).contains("code"));
+    }
+
+    @Test
+    void corruptLinesAreDroppedTest() throws IOException {
+        Path cachePath = tempDir.resolve("failed.txt");
+        long expiresAt = Instant.now().plus(Duration.ofDays(1)).getEpochSecond();
+        Files.write(cachePath, List.of("code\tPREVIOUSLY_WON\t" + expiresAt, "broken\tPREVIOUSLY_WON\tsoon",
+                "short"));
+
+        FailedEntryCache failedEntryCache = new FailedEntryCache(cachePath, Duration.ofDays(1));
+        assertTrue(failedEntryCache.contains("code"));
+        assertFalse(failedEntryCache.contains("broken"));
+
+        failedEntryCache.save();
+        assertEquals(1, Files.readAllLines(cachePath).size());
+    }
+}
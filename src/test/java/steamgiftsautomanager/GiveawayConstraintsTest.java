@@ -0,0 +1,46 @@
+package steamgiftsautomanager;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GiveawayConstraintsTest {
+    @Test
+    void fromLinesTest() {
+        GiveawayConstraints constraints = GiveawayConstraints.fromLines(new String[]{
+                "max_points=50", "min_points=5", "min_copies=2", "exclude_dlc=true", "region_restricted_only=true"
+        });
+        assertEquals(5, constraints.getMinPointCost());
+        assertEquals(50, constraints.getMaxPointCost());
+        assertEquals(2, constraints.getMinCopies());
+        assertTrue(constraints.isExcludeDlc());
+        assertTrue(constraints.isRegionRestrictedOnly());
+        assertEquals(constraints, GiveawayConstraints.fromLines(constraints.toLines()));
+        assertEquals(GiveawayConstraints.NONE, GiveawayConstraints.fromLines(new String[]{}));
+    }
+
+    @Test
+    void fromLinesRejectsInvalidConstraintsTest() {
+        assertThrows(RuntimeException.class, () -> GiveawayConstraints.fromLines(new String[]{"max_points"}));
+        assertThrows(RuntimeException.class, () -> GiveawayConstraints.fromLines(new String[]{"max_points=a"}));
+        assertThrows(RuntimeException.class, () -> GiveawayConstraints.fromLines(new String[]{"unknown=1"}));
+    }
+
+    @Test
+    void toSearchQueryTest() {
+        assertEquals("", GiveawayConstraints.NONE.toSearchQuery());
+        assertEquals("&point_min=5&point_max=50&copy_min=2&dlc=false&region_restricted=true",
+                new GiveawayConstraints(5, 50, 2, true, true).toSearchQuery());
+    }
+
+    @Test
+    void matchesTest() {
+        GiveawayConstraints constraints = new GiveawayConstraints(5, 50, 2, false, true);
+        assertTrue(constraints.matches(new Giveaway("test", "", 10, 2, true)));
+        assertFalse(constraints.matches(new Giveaway("test", "", 1, 2, true)));
+        assertFalse(constraints.matches(new Giveaway("test", "", 60, 2, true)));
+        assertFalse(constraints.matches(new Giveaway("test", "", 10, 1, true)));
+        assertFalse(constraints.matches(new Giveaway("test", "", 10, 2, false)));
+        assertTrue(GiveawayConstraints.NONE.matches(new Giveaway("test", "", 10)));
+    }
+}
@@ -0,0 +1,27 @@
+package steamgiftsautomanager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GiveawayFeedTest {
+    @Test
+    void parsePageLimitsTest() {
+        Map<GiveawayFeed, Integer> pageLimits = GiveawayFeed.parsePageLimits("all:20, wishlist,group:0");
+        assertEquals(List.of(GiveawayFeed.WISHLIST, GiveawayFeed.GROUP, GiveawayFeed.ALL),
+                List.copyOf(pageLimits.keySet()));
+        assertEquals(Integer.MAX_VALUE, pageLimits.get(GiveawayFeed.WISHLIST));
+        assertEquals(Integer.MAX_VALUE, pageLimits.get(GiveawayFeed.GROUP));
+        assertEquals(20, pageLimits.get(GiveawayFeed.ALL));
+        assertEquals(Map.of(GiveawayFeed.ALL, Integer.MAX_VALUE), GiveawayFeed.parsePageLimits(null));
+    }
+
+    @Test
+    void parsePageLimitsRejectsInvalidFeedsTest() {
+        assertThrows(RuntimeException.class, () -> GiveawayFeed.parsePageLimits("unknown"));
+        assertThrows(RuntimeException.class, () -> GiveawayFeed.parsePageLimits("all:a"));
+    }
+}
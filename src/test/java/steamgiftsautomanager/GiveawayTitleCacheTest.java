@@ -0,0 +1,51 @@
+package steamgiftsautomanager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GiveawayTitleCacheTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void savedTitlesAreLoadedTest() {
+        Path cachePath = tempDir.resolve("titles.txt");
+        GiveawayTitleCache titleCache = new GiveawayTitleCache(cachePath, Duration.ofDays(1));
+        assertFalse(titleCache.contains("code"));
+        titleCache.put("code", "123", "Full Title: With Subtitle");
+        titleCache.put("otherCode", null, "Other Title");
+        titleCache.save();
+
+        GiveawayTitleCache loadedCache = new GiveawayTitleCache(cachePath, Duration.ofDays(1));
+        assertTrue(loadedCache.contains("code"));
+        assertEquals("Full Title: With Subtitle", loadedCache.getTitle("code"));
+        assertEquals("123", loadedCache.getAppId("code"));
+        assertEquals("Other Title", loadedCache.getTitle("otherCode"));
+        assertEquals("", loadedCache.getAppId("otherCode"));
+        assertNull(loadedCache.getTitle("missingCode"));
+    }
+
+    @Test
+    void expiredTitlesAreDroppedTest() {
+        Path cachePath = tempDir.resolve("titles.txt");
+        GiveawayTitleCache titleCache = new GiveawayTitleCache(cachePath, Duration.ofDays(-1));
+        titleCache.put("code", "123", "Full Title");
+        titleCache.save();
+
+        assertFalse(new GiveawayTitleCache(cachePath, Duration.ofDays(1)).contains("code"));
+    }
+
+    @Test
+    void inMemoryCacheIsNotSavedTest() {
+        GiveawayTitleCache titleCache = new GiveawayTitleCache(null, Duration.ofDays(1));
+        titleCache.put("code", "123", "Full Title");
+
+        assertDoesNotThrow(titleCache::save);
+        assertEquals("Full Title", titleCache.getTitle("code"));
+    }
+}
@@ -0,0 +1,44 @@
+package steamgiftsautomanager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpExchangeArchiveTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void replaysRecordedExchangesInOrderTest() throws IOException {
+        Path archivePath = tempDir.resolve("exchanges.zip");
+
+        try (var archive = HttpExchangeArchive.forRecording(archivePath)) {
+            archive.record("GET", "https://test", null, "first", 0);
+            archive.record("GET", "https://test", null, "second", 0);
+            archive.record("POST", "https://test", "body", "post", 0);
+        }
+
+        try (var archive = HttpExchangeArchive.forReplay(archivePath, false)) {
+            assertTrue(archive.isReplaying());
+            assertEquals("post", archive.replay("POST", "https://test", "body"));
+            assertEquals("first", archive.replay("GET", "https://test", null));
+            assertEquals("second", archive.replay("GET", "https://test", null));
+            assertEquals("first", archive.replay("GET", "https://test", null));
+            assertThrows(IOException.class, () -> archive.replay("POST", "https://test", "otherBody"));
+        }
+    }
+
+    @Test
+    void exchangeKeyTest() {
+        assertEquals(HttpExchangeArchive.getExchangeKey("GET", "https://test", null),
+                HttpExchangeArchive.getExchangeKey("GET", "https://test", null));
+        assertNotEquals(HttpExchangeArchive.getExchangeKey("GET", "https://test", null),
+                HttpExchangeArchive.getExchangeKey("POST", "https://test", null));
+        assertNotEquals(HttpExchangeArchive.getExchangeKey("POST", "https://test", "a"),
+                HttpExchangeArchive.getExchangeKey("POST", "https://test", "b"));
+    }
+}
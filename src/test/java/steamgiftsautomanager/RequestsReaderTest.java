@@ -5,13 +5,15 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.List;
 
 class RequestsReaderTest {
     private static final Method isValidCookie = getPublicIsValidCookie();
-    private static final Method getSortedAndUniqueTitlesByTag = getPublicGetSortedAndUniqueTitlesByTag();
+    private static final Method parseRequestsFile = getPublicParseRequestsFile();
+    private static final String VALID_HEADER = "cookie=" + "a".repeat(48) + "\n" + "b".repeat(32) + "\n";
 
     static Method getPublicIsValidCookie() {
         try {
@@ -25,18 +27,25 @@ class RequestsReaderTest {
         }
     }
 
-    static Method getPublicGetSortedAndUniqueTitlesByTag() {
+    static Method getPublicParseRequestsFile() {
         try {
-            Class<?> utils = RequestsFileIO.class;
-            Method getTitlesByTag = utils.getDeclaredMethod("getSortedAndUniqueTitlesByTag", MatchTag.class, List.class);
-            getTitlesByTag.setAccessible(true);
-            return getTitlesByTag;
+            Method parse = RequestsFileIO.class.getDeclaredMethod("parseRequestsFile", BufferedReader.class);
+            parse.setAccessible(true);
+            return parse;
         } catch (Exception e) {
             e.printStackTrace();
             return null;
         }
     }
 
+    private static RequestsFileContent parse(String content) throws Exception {
+        try {
+            return (RequestsFileContent) parseRequestsFile.invoke(null, new BufferedReader(new StringReader(content)));
+        } catch (InvocationTargetException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
     @BeforeAll
     static void init() {
         assert isValidCookie != null;
@@ -72,12 +81,12 @@ class RequestsReaderTest {
                 MatchTag.NO_MATCH.toString(),
                 noMatchTest
         };
-        List<String> contentList = Arrays.asList(content);
 
         try {
-            assertArrayEquals((String[]) getSortedAndUniqueTitlesByTag.invoke(null, MatchTag.EXACT_MATCH, contentList), new String[]{exactMatchTest});
-            assertArrayEquals((String[]) getSortedAndUniqueTitlesByTag.invoke(null, MatchTag.ANY_MATCH, contentList), new String[]{anyMatchTest});
-            assertArrayEquals((String[]) getSortedAndUniqueTitlesByTag.invoke(null, MatchTag.NO_MATCH, contentList), new String[]{noMatchTest});
+            RequestsFileContent requestsFileContent = parse(VALID_HEADER + String.join("\n", content));
+            assertArrayEquals(requestsFileContent.getExactMatches(), new String[]{exactMatchTest});
+            assertArrayEquals(requestsFileContent.getAnyMatches(), new String[]{anyMatchTest});
+            assertArrayEquals(requestsFileContent.getNoMatches(), new String[]{noMatchTest});
         } catch (Exception e) {
             e.printStackTrace();
             fail();
@@ -97,4 +106,32 @@ class RequestsReaderTest {
         assertEquals("[any_match]", MatchTag.ANY_MATCH.toString());
         assertEquals("[no_match]", MatchTag.NO_MATCH.toString());
     }
+
+    @Test
+    void parseRequestsFileMergesRepeatedSectionsTest() throws Exception {
+        RequestsFileContent requestsFileContent = parse(VALID_HEADER +
+                "[exact_match]\nb\na\n\n[any_match]\nx\n[exact_match]\na\nc\n[constraints]\nmax_points=5\n");
+        assertEquals("cookie", requestsFileContent.getCookieName());
+        assertEquals("b".repeat(32), requestsFileContent.getXsrfToken());
+        assertArrayEquals(new String[]{"a", "b", "c"}, requestsFileContent.getExactMatches());
+        assertArrayEquals(new String[]{"x"}, requestsFileContent.getAnyMatches());
+        assertArrayEquals(new String[]{}, requestsFileContent.getNoMatches());
+        assertEquals(5, requestsFileContent.getConstraints().getMaxPointCost());
+    }
+
+    @Test
+    void parseRequestsFileReportsLineNumbersTest() {
+        assertEquals("Invalid cookie format at line 1",
+                assertThrows(RuntimeException.class, () -> parse("cookie=1234\n")).getMessage());
+        assertEquals("Invalid token format at line 2",
+                assertThrows(RuntimeException.class, () -> parse("cookie=" + "a".repeat(48) + "\n")).getMessage());
+        assertEquals("Line outside of any tag at line 4",
+                assertThrows(RuntimeException.class, () -> parse(VALID_HEADER + "\ntitle\n")).getMessage());
+        assertEquals("Duplicate constraint: max_points at line 5",
+                assertThrows(RuntimeException.class, () -> parse(VALID_HEADER + "[constraints]\nmax_points=10\nmax_points=5\n"))
+                        .getMessage());
+        assertEquals("Invalid constraint: unknown=1 at line 5",
+                assertThrows(RuntimeException.class, () -> parse(VALID_HEADER + "[constraints]\nmin_points=1\nunknown=1\n"))
+                        .getMessage());
+    }
 }
@@ -0,0 +1,74 @@
+package steamgiftsautomanager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunJournalTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordsAreAppendedAsJsonLinesTest() throws IOException {
+        Path journalPath = tempDir.resolve("journal.jsonl");
+
+        try (var runJournal = new RunJournal(journalPath, Long.MAX_VALUE)) {
+            runJournal.recordEntryAttempt(new Giveaway("test \"title\"", "/giveaway/code/test", 10),
+                    EntryResult.ENTERED, 5);
+            runJournal.recordRun("enter", new RunMetrics(), 100);
+        }
+        try (var runJournal = new RunJournal(journalPath, Long.MAX_VALUE)) {
+            runJournal.recordRun("plan", new RunMetrics(), 100);
+        }
+
+        var lines = Files.readAllLines(journalPath);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"type\":\"entry\""));
+        assertTrue(lines.get(0).contains("\"code\":\"code\""));
+        assertTrue(lines.get(0).contains("\"title\":\"test \\\"title\\\"\""));
+        assertTrue(lines.get(1).contains("\"mode\":\"enter\""));
+        assertTrue(lines.get(2).contains("\"mode\":\"plan\""));
+    }
+
+    @Test
+    void journalIsRotatedWhenTooLargeTest() throws IOException {
+        Path journalPath = tempDir.resolve("journal.jsonl");
+
+        try (var runJournal = new RunJournal(journalPath, 1)) {
+            runJournal.recordRun("enter", new RunMetrics(), 100);
+        }
+        try (var runJournal = new RunJournal(journalPath, 1)) {
+            runJournal.recordRun("plan", new RunMetrics(), 100);
+        }
+
+        assertTrue(Files.readString(journalPath).contains("\"mode\":\"plan\""));
+        assertTrue(Files.readString(tempDir.resolve("journal.jsonl.1")).contains("\"mode\":\"enter\""));
+    }
+
+    @Test
+    void quoteTest() {
+        assertEquals("\"test\"", RunJournal.quote("test"));
+        assertEquals("\"\\\"\\\\\\n\\u0001\"", RunJournal.quote("\"\\\n\u0001"));
+    }
+
+    @Test
+    void closeDoesNotHangWhenJournalIsNotWritableTest() {
+        Path journalPath = tempDir.resolve("missing").resolve("journal.jsonl");
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            try (var runJournal = new RunJournal(journalPath, Long.MAX_VALUE)) {
+                for (int i = 0; i < 1500; i++) {
+                    runJournal.recordEntryAttempt(new Giveaway("title", "/giveaway/code/test", 10),
+                            EntryResult.ENTERED, 5);
+                }
+            }
+        });
+        assertFalse(Files.exists(journalPath));
+    }
+}
@@ -0,0 +1,41 @@
+package steamgiftsautomanager;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleKeyTest {
+    @Test
+    void normalizeTest() {
+        assertEquals("portal 2", TitleKey.normalize("Portal 2"));
+        assertEquals("half life 2", TitleKey.normalize("Half-Life 2"));
+        assertEquals("half life 2", TitleKey.normalize("Half Life:  2"));
+        assertEquals("assassins creed origins", TitleKey.normalize("Assassin's Creed\u2122 Origins"));
+        assertEquals("assassins creed origins", TitleKey.normalize("Assassin\u2019s Creed\u00ae Origins"));
+        assertEquals("full width", TitleKey.normalize("\uff26\uff35\uff2c\uff2c Width"));
+        assertEquals("foo bar", TitleKey.normalize("Foo Bar..."));
+        assertEquals("", TitleKey.normalize("\u2122"));
+    }
+
+    @Test
+    void normalizeReturnsNormalizedTitleTest() {
+        final String title = "portal 2";
+        assertSame(title, TitleKey.normalize(title));
+    }
+
+    @Test
+    void stripCopiesSuffixTest() {
+        assertEquals("Game", TitleKey.stripCopiesSuffix("Game (5 Copies)"));
+        assertEquals("Game", TitleKey.stripCopiesSuffix("Game (1,000 Copies)"));
+        assertEquals("Game", TitleKey.stripCopiesSuffix("Game"));
+        assertEquals("Game ( Copies)", TitleKey.stripCopiesSuffix("Game ( Copies)"));
+        assertEquals("Game (Five Copies)", TitleKey.stripCopiesSuffix("Game (Five Copies)"));
+        assertEquals("game", TitleKey.normalize("Game (5 Copies)"));
+    }
+
+    @Test
+    void isTruncatedTest() {
+        assertTrue(TitleKey.isTruncated("Game..."));
+        assertFalse(TitleKey.isTruncated("Game"));
+    }
+}
@@ -13,7 +13,8 @@ class UtilsTest {
     static Method getPublicCustomFilter() {
         try {
             Class<?> utils = Utils.class;
-            Method customFilter = utils.getDeclaredMethod("customFilter", String.class, RequestsFileContent.class);
+            Method customFilter = utils.getDeclaredMethod("customFilter", Giveaway.class, TitleIndex.class,
+                    FilterStatistics.class);
             customFilter.setAccessible(true);
             return customFilter;
         } catch (Exception e) {
@@ -111,15 +112,16 @@ class UtilsTest {
                 new String[]{"test"},
                 new String[]{},
                 new String[]{});
+        TitleIndex titleIndex = new TitleIndex(requestsFileContent);
 
         try {
-            assertTrue((boolean) customFilter.invoke(null, "test", requestsFileContent));
-            assertTrue((boolean) customFilter.invoke(null, "TEST", requestsFileContent));
-            assertTrue((boolean) customFilter.invoke(null, "Test", requestsFileContent));
-            assertTrue((boolean) customFilter.invoke(null, "test...", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "test123", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "123test123", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "123test", requestsFileContent));
+            assertTrue((boolean) customFilter.invoke(null, new Giveaway("test", "", 0), titleIndex, null));
+            assertTrue((boolean) customFilter.invoke(null, new Giveaway("TEST", "", 0), titleIndex, null));
+            assertTrue((boolean) customFilter.invoke(null, new Giveaway("Test", "", 0), titleIndex, null));
+            assertTrue((boolean) customFilter.invoke(null, new Giveaway("test...", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("test123", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("123test123", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("123test", "", 0), titleIndex, null));
         } catch (Exception e) {
             e.printStackTrace();
             fail();
@@ -132,16 +134,17 @@ class UtilsTest {
                 new String[]{},
                 new String[]{"test"},
                 new String[]{});
+        TitleIndex titleIndex = new TitleIndex(requestsFileContent);
 
         try {
-            assertTrue((boolean) customFilter.invoke(null, "test", requestsFileContent));
-            assertTrue((boolean) customFilter.invoke(null, "Test", requestsFileContent));
-            assertTrue((boolean) customFilter.invoke(null, "TEST", requestsFileContent));
-            assertTrue((boolean) customFilter.invoke(null, "test123", requestsFileContent));
-            assertTrue((boolean) customFilter.invoke(null, "123test123", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "tes", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "123", requestsFileContent));
+            assertTrue((boolean) customFilter.invoke(null, new Giveaway("test", "", 0), titleIndex, null));
+            assertTrue((boolean) customFilter.invoke(null, new Giveaway("Test", "", 0), titleIndex, null));
+            assertTrue((boolean) customFilter.invoke(null, new Giveaway("TEST", "", 0), titleIndex, null));
+            assertTrue((boolean) customFilter.invoke(null, new Giveaway("test123", "", 0), titleIndex, null));
+            assertTrue((boolean) customFilter.invoke(null, new Giveaway("123test123", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("tes", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("123", "", 0), titleIndex, null));
         } catch (Exception e) {
             e.printStackTrace();
             fail();
@@ -154,16 +157,17 @@ class UtilsTest {
                 new String[]{"test"},
                 new String[]{},
                 new String[]{"test"});
+        TitleIndex titleIndex = new TitleIndex(requestsFileContent);
 
         try {
-            assertFalse((boolean) customFilter.invoke(null, "test", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "Test", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "TEST", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "test123", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "123test123", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "tes", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "123", requestsFileContent));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("test", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("Test", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("TEST", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("test123", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("123test123", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("tes", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("123", "", 0), titleIndex, null));
         } catch (Exception e) {
             e.printStackTrace();
             fail();
@@ -176,14 +180,70 @@ class UtilsTest {
                 new String[]{},
                 new String[]{"test"},
                 new String[]{"test"});
+        TitleIndex titleIndex = new TitleIndex(requestsFileContent);
 
         try {
-            assertFalse((boolean) customFilter.invoke(null, "test", requestsFileContent));
-            assertTrue((boolean) customFilter.invoke(null, "test123", requestsFileContent));
-            assertTrue((boolean) customFilter.invoke(null, "123test123", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "tes", requestsFileContent));
-            assertFalse((boolean) customFilter.invoke(null, "123", requestsFileContent));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("test", "", 0), titleIndex, null));
+            assertTrue((boolean) customFilter.invoke(null, new Giveaway("test123", "", 0), titleIndex, null));
+            assertTrue((boolean) customFilter.invoke(null, new Giveaway("123test123", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("tes", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("123", "", 0), titleIndex, null));
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    void isTruncatedCandidateTest() {
+        RequestsFileContent requestsFileContent = new RequestsFileContent("", "", "",
+                new String[]{"test title"},
+                new String[]{"any"},
+                new String[]{"other title"});
+        TitleIndex titleIndex = new TitleIndex(requestsFileContent);
+
+        assertTrue(Utils.isTruncatedCandidate(new Giveaway("Test...", "", 0), titleIndex));
+        assertTrue(Utils.isTruncatedCandidate(new Giveaway("Other...", "", 0), titleIndex));
+        assertTrue(Utils.isTruncatedCandidate(new Giveaway("Many...", "", 0), titleIndex));
+        assertFalse(Utils.isTruncatedCandidate(new Giveaway("Test", "", 0), titleIndex));
+        assertFalse(Utils.isTruncatedCandidate(new Giveaway("Unrelated...", "", 0), titleIndex));
+    }
+
+    @Test
+    void filterGiveawaysRecordsStatisticsTest() {
+        Giveaway[] giveaways = new Giveaway[]{
+                new Giveaway("test", "", 0),
+                new Giveaway("other", "", 0)
+        };
+
+        RequestsFileContent requestsFileContent = new RequestsFileContent("", "", "",
+                new String[]{"test"},
+                new String[]{"any"},
+                new String[]{});
+
+        FilterStatistics statistics = new FilterStatistics();
+        Utils.filterGiveaways(giveaways, requestsFileContent, new TitleIndex(requestsFileContent), statistics);
+
+        assertEquals(1, statistics.getEvaluations(MatchTag.EXACT_MATCH, "test"));
+        assertEquals(1, statistics.getMatches(MatchTag.EXACT_MATCH, "test"));
+        assertEquals(1, statistics.getEvaluations(MatchTag.ANY_MATCH, "any"));
+        assertEquals(0, statistics.getMatches(MatchTag.ANY_MATCH, "any"));
+    }
+
+    @Test
+    void customFilterMatchesNormalizedTitlesTest() {
+        RequestsFileContent requestsFileContent = new RequestsFileContent("", "", "",
+                new String[]{"Half-Life 2"},
+                new String[]{"assassins creed"},
+                new String[]{});
+        TitleIndex titleIndex = new TitleIndex(requestsFileContent);
+
+        try {
+            assertTrue((boolean) customFilter.invoke(null, new Giveaway("Half Life 2", "", 0), titleIndex, null));
+            assertTrue((boolean) customFilter.invoke(null, new Giveaway("Half-Life 2 (3 Copies)", "", 0), titleIndex, null));
+            assertTrue((boolean) customFilter.invoke(null, new Giveaway("Assassin's Creed\u2122 Origins", "", 0), titleIndex, null));
+            assertFalse((boolean) customFilter.invoke(null, new Giveaway("Half-Life", "", 0), titleIndex, null));
         } catch (Exception e) {
             e.printStackTrace();
             fail();